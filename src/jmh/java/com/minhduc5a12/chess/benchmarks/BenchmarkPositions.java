@@ -0,0 +1,23 @@
+package com.minhduc5a12.chess.benchmarks;
+
+/**
+ * Bộ thế cờ cố định cho mọi benchmark, chọn theo tên qua {@code @Param}.
+ */
+final class BenchmarkPositions {
+    static final String OPENING = "r1bqkbnr/pppp1ppp/2n5/1B2p3/4P3/5N2/PPPP1PPP/RNBQK2R b KQkq - 3 3";
+    static final String MIDDLEGAME = "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10";
+    static final String ENDGAME = "8/2k5/3p4/1p1Pb3/1P2N3/5K2/3R4/8 w - - 0 50";
+
+    private BenchmarkPositions() {
+        throw new AssertionError("Cannot instantiate BenchmarkPositions class");
+    }
+
+    static String fen(String name) {
+        return switch (name) {
+            case "opening" -> OPENING;
+            case "middlegame" -> MIDDLEGAME;
+            case "endgame" -> ENDGAME;
+            default -> throw new IllegalArgumentException("Unknown benchmark position: " + name);
+        };
+    }
+}
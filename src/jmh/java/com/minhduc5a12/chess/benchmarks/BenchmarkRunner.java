@@ -0,0 +1,23 @@
+package com.minhduc5a12.chess.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Chạy toàn bộ benchmark với profiler cấp phát ({@code -prof gc}).
+ * Tham số đầu tiên (nếu có) là biểu thức lọc tên benchmark.
+ */
+public class BenchmarkRunner {
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(args.length > 0 ? args[0] : BenchmarkRunner.class.getPackageName() + ".*")
+                .addProfiler(GCProfiler.class)
+                // logback.xml chính ghi từ mức DEBUG, kể cả log của bộ kiểm tra chiếu hết mỗi lần gọi; chỉ giữ WARN cho số đo sạch
+                .jvmArgsAppend("-Dlogback.configurationFile=logback-benchmark.xml")
+                .build();
+        new Runner(options).run();
+    }
+}
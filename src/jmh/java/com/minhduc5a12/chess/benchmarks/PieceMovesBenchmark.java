@@ -0,0 +1,70 @@
+package com.minhduc5a12.chess.benchmarks;
+
+import com.minhduc5a12.chess.core.Piece;
+import com.minhduc5a12.chess.core.Position;
+import com.minhduc5a12.chess.core.Square;
+import com.minhduc5a12.chess.pieces.ChessPiece;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ChessPiece#generateValidMoves} cho mọi quân cùng loại của bên đi,
+ * đúng như khi giao diện tô sáng nước đi của một quân.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PieceMovesBenchmark {
+    @Param({"opening", "middlegame", "endgame"})
+    public String position;
+
+    @Param({"PAWN", "KNIGHT", "BISHOP", "ROOK", "QUEEN", "KING"})
+    public String pieceType;
+
+    private Position board;
+    private ChessPiece piece;
+    private int[] squares;
+
+    @Setup
+    public void setUp() {
+        board = Position.fromFen(BenchmarkPositions.fen(position));
+        int type = switch (pieceType) {
+            case "PAWN" -> Piece.PAWN;
+            case "KNIGHT" -> Piece.KNIGHT;
+            case "BISHOP" -> Piece.BISHOP;
+            case "ROOK" -> Piece.ROOK;
+            case "QUEEN" -> Piece.QUEEN;
+            default -> Piece.KING;
+        };
+        int code = Piece.of(board.getSideToMove(), type);
+        piece = ChessPiece.of(code);
+        long bitboard = board.bitboard(code);
+        squares = new int[Long.bitCount(bitboard)];
+        for (int i = 0; bitboard != 0; i++) {
+            squares[i] = Long.numberOfTrailingZeros(bitboard);
+            bitboard &= bitboard - 1;
+        }
+    }
+
+    @Benchmark
+    public void generateValidMoves(Blackhole blackhole) {
+        for (int square : squares) {
+            blackhole.consume(piece.generateValidMoves(Square.x(square), Square.y(square), board));
+        }
+    }
+}
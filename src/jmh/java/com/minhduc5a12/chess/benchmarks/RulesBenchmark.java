@@ -0,0 +1,69 @@
+package com.minhduc5a12.chess.benchmarks;
+
+import com.minhduc5a12.chess.constants.PieceColor;
+import com.minhduc5a12.chess.core.MoveGenerator;
+import com.minhduc5a12.chess.core.MoveList;
+import com.minhduc5a12.chess.core.Piece;
+import com.minhduc5a12.chess.core.Position;
+import com.minhduc5a12.chess.model.Move;
+import com.minhduc5a12.chess.utils.BoardUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chi phí mỗi nước đi của các truy vấn luật mà giao diện gọi sau từng nước.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RulesBenchmark {
+    @Param({"opening", "middlegame", "endgame"})
+    public String position;
+
+    private Position board;
+    private PieceColor sideToMove;
+    private Move sampleMove;
+
+    @Setup
+    public void setUp() {
+        board = Position.fromFen(BenchmarkPositions.fen(position));
+        sideToMove = Piece.toPieceColor(board.getSideToMove());
+        MoveList moves = new MoveList();
+        MoveGenerator.generateLegal(board, moves);
+        sampleMove = Move.of(moves.get(moves.size() / 2));
+    }
+
+    @Benchmark
+    public boolean isKingInCheck() {
+        return BoardUtils.isKingInCheck(board, sideToMove);
+    }
+
+    @Benchmark
+    public boolean isCheckmate() {
+        return BoardUtils.isCheckmate(board, sideToMove);
+    }
+
+    @Benchmark
+    public boolean isDeadPosition() {
+        return BoardUtils.isDeadPosition(board, sideToMove);
+    }
+
+    @Benchmark
+    public boolean isMoveValidUnderCheck() {
+        return BoardUtils.isMoveValidUnderCheck(sampleMove.startX(), sampleMove.startY(), sampleMove.endX(), sampleMove.endY(), board, sideToMove);
+    }
+}
@@ -0,0 +1,52 @@
+package com.minhduc5a12.chess.benchmarks;
+
+import com.minhduc5a12.chess.BoardManager;
+import com.minhduc5a12.chess.core.Position;
+import com.minhduc5a12.chess.utils.BoardUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ký hiệu FEN và kiểm tra lặp lại thế cờ được tính sau mỗi nước đi.
+ * {@code ChessNotationUtils.getFen} cần cả Swing và tiến trình Stockfish,
+ * nên đo trực tiếp phần việc nó ủy quyền cho {@link Position}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StateTrackingBenchmark {
+    @Param({"opening", "middlegame", "endgame"})
+    public String position;
+
+    private BoardManager boardManager;
+
+    @Setup
+    public void setUp() {
+        boardManager = new BoardManager();
+        boardManager.getPosition().setFen(BenchmarkPositions.fen(position));
+    }
+
+    @Benchmark
+    public String getFen() {
+        return boardManager.getPosition().toFen();
+    }
+
+    @Benchmark
+    public boolean isThreefoldRepetition() {
+        return BoardUtils.isThreefoldRepetition(boardManager.getPosition());
+    }
+}
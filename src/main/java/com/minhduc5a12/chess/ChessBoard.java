@@ -12,7 +12,6 @@ import java.awt.event.MouseEvent;
 import java.awt.event.MouseMotionAdapter;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
 
 import javax.imageio.ImageIO;
@@ -36,10 +35,10 @@ public final class ChessBoard extends JPanel {
 
 
     public ChessBoard(GameController gameController) {
-        this.gameController = gameController;
         setPreferredSize(new Dimension(BOARD_SIZE * TILE_SIZE, BOARD_SIZE * TILE_SIZE));
         setLayout(new GridLayout(BOARD_SIZE, BOARD_SIZE));
-        initializeTiles();
+        createTiles();
+        setGameController(gameController);
         loadChessboardImage();
         addMouseListener(new ChessMouseListener());
         addMouseMotionListener(new ChessMouseMotionListener());
@@ -47,22 +46,46 @@ public final class ChessBoard extends JPanel {
 
     public void setGameController(GameController gameController) {
         this.gameController = gameController;
+        if (gameController != null) {
+            gameController.addPositionListener(move -> {
+                syncTiles();
+                repaint();
+            });
+        }
         initializeTiles();
     }
 
-    protected void initializeTiles() {
-        removeAll();
-        if (gameController != null) {
-            ChessTile[][] board = gameController.getBoard();
-            for (int row = 0; row < BOARD_SIZE; row++) {
-                for (int col = 0; col < BOARD_SIZE; col++) {
-                    tiles[row][col] = board[row][col];
-                    add(tiles[row][col]);
-                }
+    private void createTiles() {
+        for (int row = 0; row < BOARD_SIZE; row++) {
+            for (int col = 0; col < BOARD_SIZE; col++) {
+                tiles[row][col] = new ChessTile(row, col);
+                add(tiles[row][col]);
             }
         }
+    }
+
+    protected void initializeTiles() {
+        syncTiles();
         selectedTile = null;
         revalidate();
+        repaint();
+    }
+
+    // Position là trạng thái gốc, các ô chỉ hiển thị lại nó
+    private void syncTiles() {
+        for (int row = 0; row < BOARD_SIZE; row++) {
+            for (int col = 0; col < BOARD_SIZE; col++) {
+                tiles[row][col].setPiece(gameController == null ? null : gameController.getPiece(col, row));
+            }
+        }
+    }
+
+    public void resetStockfishSuggestions() {
+        for (int row = 0; row < BOARD_SIZE; row++) {
+            for (int col = 0; col < BOARD_SIZE; col++) {
+                tiles[row][col].setStockfishSuggested(false);
+            }
+        }
     }
 
     private void loadChessboardImage() {
@@ -121,14 +144,8 @@ public final class ChessBoard extends JPanel {
 
     private void highlightValidMoves(ChessTile selectedTile) {
         if (gameController == null) return; // Kiểm tra null
-        List<Move> validMoves = selectedTile.getPiece().generateValidMoves(selectedTile.getCol(), selectedTile.getRow(), gameController.getBoard());
-        List<Move> filteredMoves = new ArrayList<>();
-        for (Move move : validMoves) {
-            if (gameController.isMoveValidUnderCheck(selectedTile.getCol(), selectedTile.getRow(), move.endX(), move.endY())) {
-                filteredMoves.add(move);
-            }
-        }
-        for (Move move : filteredMoves) {
+        List<Move> legalMoves = gameController.getLegalMoves(selectedTile.getCol(), selectedTile.getRow());
+        for (Move move : legalMoves) {
             int endX = move.endX();
             int endY = move.endY();
             ChessTile targetTile = tiles[endY][endX];
@@ -143,7 +160,7 @@ public final class ChessBoard extends JPanel {
     private void handleMoveExecution(int col, int row) {
         if (selectedTile == null || gameController == null) return; // Kiểm tra null
         ChessPiece selectedPiece = selectedTile.getPiece();
-        if (selectedPiece != null && selectedPiece.isValidMove(selectedTile.getCol(), selectedTile.getRow(), col, row, gameController.getBoard())) {
+        if (selectedPiece != null && selectedPiece.isValidMove(selectedTile.getCol(), selectedTile.getRow(), col, row, gameController.getPosition())) {
             if (gameController.isMoveValidUnderCheck(selectedTile.getCol(), selectedTile.getRow(), col, row)) {
                 gameController.makeMove(selectedTile.getCol(), selectedTile.getRow(), col, row);
                 repaint();
@@ -1,6 +1,7 @@
 package com.minhduc5a12.chess;
 
 import com.minhduc5a12.chess.pieces.ChessPiece;
+import com.minhduc5a12.chess.utils.ImageLoader;
 
 import javax.swing.*;
 import java.awt.*;
@@ -34,9 +35,9 @@ public class ChessTile extends JPanel {
         return piece;
     }
 
+    // Không repaint ở đây: ChessBoard vẽ lại một lần sau mỗi nước đi
     public void setPiece(ChessPiece piece) {
         this.piece = piece;
-        repaint();
     }
 
     public int getRow() {
@@ -97,7 +98,7 @@ public class ChessTile extends JPanel {
     }
 
     private void drawPiece(Graphics g) {
-        Image image = piece.getImage();
+        Image image = ImageLoader.getImage(piece.getImagePath());
         if (image != null) {
             int offsetX = (TILE_SIZE - PIECE_SIZE) / 2;
             int offsetY = (TILE_SIZE - PIECE_SIZE) / 2;
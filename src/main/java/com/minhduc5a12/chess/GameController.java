@@ -1,6 +1,9 @@
 package com.minhduc5a12.chess;
 
 import com.minhduc5a12.chess.constants.PieceColor;
+import com.minhduc5a12.chess.core.Moves;
+import com.minhduc5a12.chess.core.Position;
+import com.minhduc5a12.chess.engine.EngineClock;
 import com.minhduc5a12.chess.engine.StockfishPlayer;
 import com.minhduc5a12.chess.model.Move;
 import com.minhduc5a12.chess.pieces.ChessPiece;
@@ -12,8 +15,8 @@ import org.slf4j.LoggerFactory;
 import javax.swing.*;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.function.Consumer;
+import java.util.function.IntConsumer;
 
 public class GameController {
     private static final Logger logger = LoggerFactory.getLogger(GameController.class);
@@ -25,24 +28,21 @@ public class GameController {
     private final ChessBoard chessBoard;
     private final JFrame parentFrame;
     private final List<Consumer<PieceColor>> turnChangeListeners = new ArrayList<>();
-    private final List<String> boardStates = new ArrayList<>();
 
     private PieceColor currentPlayerColor = PieceColor.WHITE;
     private Move lastMove;
-    private int movesWithoutCaptureOrPawn = 0;
     private boolean gameEnded = false;
     private Player whitePlayer;
     private Player blackPlayer;
 
     public GameController(JFrame parentFrame, ChessBoard chessBoard) {
-        this.boardManager = new BoardManager(this);
-        this.moveExecutor = new MoveExecutor(boardManager, parentFrame, this);
+        this.boardManager = new BoardManager();
+        this.moveExecutor = new MoveExecutor(boardManager, this::choosePromotion);
         this.stateChecker = new GameStateChecker(boardManager);
         this.notationUtils = new ChessNotationUtils(this);
         this.stockfishPlayer = new StockfishPlayer(this);
         this.chessBoard = chessBoard;
         this.parentFrame = parentFrame;
-        updateBoardState();
     }
 
     public void makeMove(int startX, int startY, int endX, int endY) {
@@ -59,16 +59,13 @@ public class GameController {
             return;
         }
 
-        boolean isCaptureOrPawnMove = moveExecutor.executeMove(startX, startY, endX, endY, promotion, currentPlayerColor);
-        lastMove = new Move(startX, startY, endX, endY);
-
-        if (isCaptureOrPawnMove) {
-            movesWithoutCaptureOrPawn = 0;
-        } else {
-            movesWithoutCaptureOrPawn++;
+        int move = moveExecutor.executeMove(startX, startY, endX, endY, promotion, currentPlayerColor);
+        if (move == Moves.NONE) {
+            return;
         }
+        playMoveSound(move);
+        lastMove = new Move(startX, startY, endX, endY);
 
-        updateBoardState();
         checkGameState();
 
         if (!gameEnded) {
@@ -82,7 +79,7 @@ public class GameController {
 
         if (!gameEnded && currentPlayerColor == PieceColor.BLACK) {
             resetStockfishSuggestions();
-            new Thread(stockfishPlayer::makeMove).start();
+            stockfishPlayer.makeMove();
         }
     }
 
@@ -97,45 +94,55 @@ public class GameController {
         }
     }
 
-    private void resetStockfishSuggestions() {
-        ChessTile[][] board = boardManager.getBoard();
-        for (int y = 0; y < 8; y++) {
-            for (int x = 0; x < 8; x++) {
-                board[y][x].setStockfishSuggested(false);
-            }
+    private void playMoveSound(int move) {
+        if (Moves.isCapture(move)) {
+            SoundPlayer.playCaptureSound();
+        } else {
+            SoundPlayer.playMoveSound();
+        }
+        if (Moves.isCastling(move)) {
+            SoundPlayer.playCastleSound();
         }
     }
 
-    public void updateBoardState() {
-        StringBuilder state = new StringBuilder();
-        ChessTile[][] board = boardManager.getBoard();
-        for (int y = 0; y < 8; y++) {
-            for (int x = 0; x < 8; x++) {
-                ChessPiece piece = board[y][x].getPiece();
-                state.append(piece == null ? "-" : piece.getColor() + piece.getClass().getSimpleName());
-            }
+    private String choosePromotion(PieceColor color) {
+        PromotionDialog dialog = new PromotionDialog(parentFrame, color);
+        dialog.setVisible(true);
+        return dialog.getSelectedPiece();
+    }
+
+    private void resetStockfishSuggestions() {
+        if (chessBoard != null) {
+            chessBoard.resetStockfishSuggestions();
         }
-        boardStates.add(state.toString());
     }
 
     public void checkGameState() {
         PieceColor opponentColor = (currentPlayerColor == PieceColor.WHITE) ? PieceColor.BLACK : PieceColor.WHITE;
 
         if (stateChecker.isCheckmate(opponentColor)) {
-            gameEnded = true;
+            endGame();
             SoundPlayer.playMoveCheckSound();
             showGameOverDialog(opponentColor + " bị chiếu hết! " + currentPlayerColor + " thắng!");
         } else if (stateChecker.isKingInCheck(opponentColor)) {
             SoundPlayer.playMoveCheckSound();
         } else if (stateChecker.isDeadPosition(opponentColor)) {
             showGameOverDialog("Hòa cờ: Không còn nước đi hợp lệ!");
-        } else if (stateChecker.isThreefoldRepetition(boardStates)) {
+        } else if (stateChecker.isThreefoldRepetition()) {
             showGameOverDialog("Hòa cờ: Lặp lại 3 lần!");
-        } else if (stateChecker.isFiftyMoveRule(movesWithoutCaptureOrPawn)) {
+        } else if (stateChecker.isFiftyMoveRule(getMovesWithoutCaptureOrPawn())) {
             showGameOverDialog("Hòa cờ: 50 nước không ăn quân hoặc di chuyển tốt!");
         }
     }
 
+    /**
+     * Kết thúc ván (chiếu hết, hết giờ...): không nhận nước mới và hủy lần tìm của máy nếu đang chạy.
+     */
+    public void endGame() {
+        gameEnded = true;
+        stockfishPlayer.cancel();
+    }
+
     private void showGameOverDialog(String message) {
         repaintChessBoard();
         GameOverDialog dialog = new GameOverDialog(parentFrame, message);
@@ -148,14 +155,6 @@ public class GameController {
         }
     }
 
-    public void updatePiecePosition(ChessPiece piece, int newX, int newY) {
-        boardManager.updatePiecePosition(piece, newX, newY);
-    }
-
-    public void performCastling(int row, int kingEndX) {
-        moveExecutor.performCastling(row, kingEndX);
-    }
-
     // Thêm phương thức setPlayers
     public void setPlayers(Player whitePlayer, Player blackPlayer) {
         this.whitePlayer = whitePlayer;
@@ -174,8 +173,8 @@ public class GameController {
         return notationUtils;
     }
 
-    public ChessTile[][] getBoard() {
-        return boardManager.getBoard();
+    public void addPositionListener(IntConsumer listener) {
+        boardManager.addPositionListener(listener);
     }
 
     public PieceColor getCurrentPlayerColor() {
@@ -186,8 +185,12 @@ public class GameController {
         return lastMove;
     }
 
-    public Map<ChessPiece, int[]> getPiecePositions() {
-        return boardManager.getPiecePositions();
+    public Position getPosition() {
+        return boardManager.getPosition();
+    }
+
+    public ChessPiece getPiece(int x, int y) {
+        return boardManager.getPiece(x, y);
     }
 
     public boolean isGameEnded() {
@@ -198,14 +201,6 @@ public class GameController {
         this.lastMove = lastMove;
     }
 
-    public void resetMovesWithoutCaptureOrPawn() {
-        this.movesWithoutCaptureOrPawn = 0;
-    }
-
-    public void incrementMovesWithoutCaptureOrPawn() {
-        this.movesWithoutCaptureOrPawn++;
-    }
-
     public ChessBoard getChessBoard() {
         return chessBoard;
     }
@@ -218,11 +213,21 @@ public class GameController {
         return stateChecker.isMoveValidUnderCheck(startX, startY, endX, endY, currentPlayerColor);
     }
 
-    public int getMovesWithoutCaptureOrPawn() {
-        return movesWithoutCaptureOrPawn;
+    public List<Move> getLegalMoves(int x, int y) {
+        return stateChecker.getLegalMoves(x, y, currentPlayerColor);
     }
 
-    public List<String> getBoardStates() {
-        return boardStates;
+    /**
+     * @return Đồng hồ hai bên cho máy chia thời gian, {@code null} nếu chưa gán người chơi.
+     */
+    public EngineClock getClock() {
+        if (whitePlayer == null || blackPlayer == null) {
+            return null;
+        }
+        return new EngineClock(whitePlayer.getRemainingMillis(), blackPlayer.getRemainingMillis(), 0, 0, 0);
+    }
+
+    public int getMovesWithoutCaptureOrPawn() {
+        return boardManager.getPosition().getHalfmoveClock();
     }
 }
\ No newline at end of file
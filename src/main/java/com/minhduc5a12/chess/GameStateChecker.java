@@ -1,6 +1,7 @@
 package com.minhduc5a12.chess;
 
 import com.minhduc5a12.chess.constants.PieceColor;
+import com.minhduc5a12.chess.model.Move;
 import com.minhduc5a12.chess.pieces.ChessPiece;
 import com.minhduc5a12.chess.utils.BoardUtils;
 import org.slf4j.Logger;
@@ -17,19 +18,19 @@ public class GameStateChecker {
     }
 
     public boolean isKingInCheck(PieceColor color) {
-        return BoardUtils.isKingInCheck(boardManager.getBoard(), color, boardManager.getPiecePositions());
+        return BoardUtils.isKingInCheck(boardManager.getPosition(), color);
     }
 
     public boolean isCheckmate(PieceColor color) {
-        return BoardUtils.isCheckmate(boardManager.getBoard(), color, boardManager.getPiecePositions());
+        return BoardUtils.isCheckmate(boardManager.getPosition(), color);
     }
 
     public boolean isDeadPosition(PieceColor color) {
-        return BoardUtils.isDeadPosition(boardManager.getBoard(), color, boardManager.getPiecePositions());
+        return BoardUtils.isDeadPosition(boardManager.getPosition(), color);
     }
 
-    public boolean isThreefoldRepetition(List<String> boardStates) {
-        return BoardUtils.isThreefoldRepetition(boardStates);
+    public boolean isThreefoldRepetition() {
+        return BoardUtils.isThreefoldRepetition(boardManager.getPosition());
     }
 
     public boolean isFiftyMoveRule(int movesWithoutCaptureOrPawn) {
@@ -37,14 +38,18 @@ public class GameStateChecker {
     }
 
     public boolean isValidMove(int startX, int startY, int endX, int endY, PieceColor currentPlayerColor) {
-        ChessPiece piece = boardManager.getBoard()[startY][startX].getPiece();
+        ChessPiece piece = boardManager.getPiece(startX, startY);
         if (piece == null || piece.getColor() != currentPlayerColor) {
             return false;
         }
-        return piece.isValidMove(startX, startY, endX, endY, boardManager.getBoard());
+        return piece.isValidMove(startX, startY, endX, endY, boardManager.getPosition());
     }
 
     public boolean isMoveValidUnderCheck(int startX, int startY, int endX, int endY, PieceColor currentPlayerColor) {
-        return BoardUtils.isMoveValidUnderCheck(startX, startY, endX, endY, boardManager.getBoard(), currentPlayerColor, boardManager.getPiecePositions());
+        return BoardUtils.isMoveValidUnderCheck(startX, startY, endX, endY, boardManager.getPosition(), currentPlayerColor);
     }
-}
\ No newline at end of file
+
+    public List<Move> getLegalMoves(int x, int y, PieceColor currentPlayerColor) {
+        return BoardUtils.getLegalMoves(x, y, boardManager.getPosition(), currentPlayerColor);
+    }
+}
@@ -1,115 +1,78 @@
 package com.minhduc5a12.chess;
 
 import com.minhduc5a12.chess.constants.PieceColor;
-import com.minhduc5a12.chess.model.Move;
-import com.minhduc5a12.chess.pieces.*;
-import com.minhduc5a12.chess.utils.SoundPlayer;
+import com.minhduc5a12.chess.core.MoveGenerator;
+import com.minhduc5a12.chess.core.MoveList;
+import com.minhduc5a12.chess.core.Moves;
+import com.minhduc5a12.chess.core.Piece;
+import com.minhduc5a12.chess.core.Position;
+import com.minhduc5a12.chess.core.Square;
 
-import javax.swing.*;
+import java.util.function.Function;
 
 public class MoveExecutor {
     private final BoardManager boardManager;
-    private final JFrame parentFrame;
-    private final GameController gameController;
+    private final Function<PieceColor, String> promotionChooser;
 
-    public MoveExecutor(BoardManager boardManager, JFrame parentFrame, GameController gameController) {
-        this.boardManager = boardManager;
-        this.parentFrame = parentFrame;
-        this.gameController = gameController;
+    public MoveExecutor(BoardManager boardManager) {
+        this(boardManager, null);
     }
 
-    public boolean executeMove(int startX, int startY, int endX, int endY, String promotion, PieceColor currentPlayerColor) {
-        ChessTile[][] board = boardManager.getBoard();
-        ChessPiece piece = board[startY][startX].getPiece();
-        if (piece == null || piece.getColor() != currentPlayerColor) {
-            return false;
-        }
-
-        boolean isEnPassant = false;
-        boolean isCapture = board[endY][endX].getPiece() != null;
-
-        if (piece instanceof Pawn && board[endY][endX].getPiece() == null && startX != endX) {
-            Move lastMove = gameController.getLastMove();
-            if (lastMove != null && board[lastMove.endY()][lastMove.endX()].getPiece() instanceof Pawn && Math.abs(lastMove.startY() - lastMove.endY()) == 2 && lastMove.endX() == endX && lastMove.endY() == startY) {
-                board[lastMove.endY()][lastMove.endX()].setPiece(null);
-                isEnPassant = true;
-                isCapture = true;
-            }
-        }
-
-        ChessPiece targetPiece = board[endY][endX].getPiece();
-        board[endY][endX].setPiece(piece);
-        board[startY][startX].setPiece(null);
-        piece.setHasMoved(true);
-
-        if (targetPiece != null) {
-            boardManager.removePiece(targetPiece);
-        }
-        boardManager.updatePiecePosition(piece, endX, endY);
+    /**
+     * @param promotionChooser Hỏi người chơi quân phong cấp ("Queen", "Rook", "Bishop", "Knight");
+     *                         {@code null} thì luôn phong hậu.
+     */
+    public MoveExecutor(BoardManager boardManager, Function<PieceColor, String> promotionChooser) {
+        this.boardManager = boardManager;
+        this.promotionChooser = promotionChooser;
+    }
 
-        if (piece instanceof Pawn && ((piece.getColor() == PieceColor.WHITE && endY == 0) || (piece.getColor() == PieceColor.BLACK && endY == 7))) {
-            ChessPiece promotedPiece = promotePawn(endX, endY, piece.getColor(), promotion);
-            board[endY][endX].setPiece(promotedPiece);
-            boardManager.removePiece(piece);
-            boardManager.updatePiecePosition(promotedPiece, endX, endY);
+    /**
+     * @return Nước đi đã thực hiện dạng int, hoặc {@link Moves#NONE} nếu nước đi không hợp lệ.
+     */
+    public int executeMove(int startX, int startY, int endX, int endY, String promotion, PieceColor currentPlayerColor) {
+        Position position = boardManager.getPosition();
+        int from = Square.of(startX, startY);
+        int to = Square.of(endX, endY);
+        int piece = position.pieceAt(from);
+        if (piece == Piece.NONE || Piece.color(piece) != Piece.colorOf(currentPlayerColor)) {
+            return Moves.NONE;
         }
 
-        if (isEnPassant || targetPiece != null) {
-            SoundPlayer.playCaptureSound();
-        } else {
-            SoundPlayer.playMoveSound();
+        int promotionType = Piece.QUEEN;
+        if (Piece.type(piece) == Piece.PAWN && (endY == 0 || endY == 7)) {
+            promotionType = promotePawn(currentPlayerColor, promotion);
         }
 
-        Move move = new Move(startX, startY, endX, endY);
-        gameController.setLastMove(move);
-
-        if (piece instanceof King && Math.abs(endX - startX) == 2) {
-            performCastling(startY, endX);
-            SoundPlayer.playCastleSound();
+        MoveList moves = new MoveList();
+        MoveGenerator.addPieceMoves(position, from, moves);
+        int move = moves.find(from, to, promotionType);
+        if (move == Moves.NONE) {
+            return Moves.NONE;
         }
 
-        return isCapture || piece instanceof Pawn;
+        position.makeMove(move);
+        boardManager.firePositionChanged(move);
+        return move;
     }
 
-    private ChessPiece promotePawn(int x, int y, PieceColor color, String promotion) {
+    private int promotePawn(PieceColor color, String promotion) {
         if (promotion != null) {
             return switch (promotion.toLowerCase()) {
-                case "r" ->
-                        new Rook(color, color == PieceColor.WHITE ? "images/white_rook.png" : "images/black_rook.png", gameController);
-                case "b" ->
-                        new Bishop(color, color == PieceColor.WHITE ? "images/white_bishop.png" : "images/black_bishop.png", gameController);
-                case "n" ->
-                        new Knight(color, color == PieceColor.WHITE ? "images/white_knight.png" : "images/black_knight.png", gameController);
-                default ->
-                        new Queen(color, color == PieceColor.WHITE ? "images/white_queen.png" : "images/black_queen.png", gameController);
+                case "r" -> Piece.ROOK;
+                case "b" -> Piece.BISHOP;
+                case "n" -> Piece.KNIGHT;
+                default -> Piece.QUEEN;
             };
-        } else {
-            PromotionDialog dialog = new PromotionDialog(parentFrame, color);
-            dialog.setVisible(true);
-            String selectedPromotion = dialog.getSelectedPiece();
+        } else if (promotionChooser != null) {
+            String selectedPromotion = promotionChooser.apply(color);
             return switch (selectedPromotion) {
-                case "Rook" ->
-                        new Rook(color, color == PieceColor.WHITE ? "images/white_rook.png" : "images/black_rook.png", gameController);
-                case "Bishop" ->
-                        new Bishop(color, color == PieceColor.WHITE ? "images/white_bishop.png" : "images/black_bishop.png", gameController);
-                case "Knight" ->
-                        new Knight(color, color == PieceColor.WHITE ? "images/white_knight.png" : "images/black_knight.png", gameController);
-                default ->
-                        new Queen(color, color == PieceColor.WHITE ? "images/white_queen.png" : "images/black_queen.png", gameController);
+                case "Rook" -> Piece.ROOK;
+                case "Bishop" -> Piece.BISHOP;
+                case "Knight" -> Piece.KNIGHT;
+                default -> Piece.QUEEN;
             };
         }
+        return Piece.QUEEN;
     }
-
-    public void performCastling(int row, int kingEndX) {
-        ChessTile[][] board = boardManager.getBoard();
-        int direction = (kingEndX > 4) ? 1 : -1;
-        int rookStartX = (direction == 1) ? 7 : 0;
-        int rookEndX = (direction == 1) ? kingEndX - 1 : kingEndX + 1;
-
-        ChessPiece rook = board[row][rookStartX].getPiece();
-        board[row][rookEndX].setPiece(rook);
-        board[row][rookStartX].setPiece(null);
-        rook.setHasMoved(true);
-        boardManager.updatePiecePosition(rook, rookEndX, row);
-    }
-}
\ No newline at end of file
+}
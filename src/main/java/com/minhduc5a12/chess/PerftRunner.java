@@ -0,0 +1,39 @@
+package com.minhduc5a12.chess;
+
+import com.minhduc5a12.chess.core.Perft;
+import com.minhduc5a12.chess.core.Position;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Chạy perft từ dòng lệnh: {@code PerftRunner <depth> [fen]}.
+ * In số nút dưới từng nước đi ở gốc (divide), tổng số nút và tốc độ nút/giây.
+ */
+public class PerftRunner {
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Usage: PerftRunner <depth> [fen]");
+            System.exit(1);
+        }
+        int depth = Integer.parseInt(args[0]);
+        String fen = args.length > 1 ? String.join(" ", Arrays.copyOfRange(args, 1, args.length)) : Position.START_FEN;
+        Position position = Position.fromFen(fen);
+
+        long start = System.nanoTime();
+        Map<String, Long> divide = Perft.divide(position, depth);
+        long elapsed = System.nanoTime() - start;
+
+        long total = 0;
+        for (Map.Entry<String, Long> entry : divide.entrySet()) {
+            System.out.println(entry.getKey() + ": " + entry.getValue());
+            total += entry.getValue();
+        }
+        double seconds = elapsed / 1_000_000_000.0;
+        System.out.println();
+        System.out.println("Moves: " + divide.size());
+        System.out.println("Nodes: " + total);
+        System.out.printf("Time: %.3f s%n", seconds);
+        System.out.printf("NPS: %.0f%n", seconds > 0 ? total / seconds : 0.0);
+    }
+}
@@ -58,6 +58,7 @@ public class Player {
             if (color == gameController.getCurrentPlayerColor()) {
                 if (--timeSeconds <= 0) {
                     timer.stop();
+                    gameController.endGame();
                     JOptionPane.showMessageDialog(null, name + " hết giờ! " + (color == PieceColor.WHITE ? "Đen" : "Trắng") + " thắng!", "Hết giờ", JOptionPane.INFORMATION_MESSAGE);
                 }
                 updateTimeLabel();
@@ -182,6 +183,13 @@ public class Player {
         return right;
     }
 
+    /**
+     * @return Thời gian còn lại trên đồng hồ; chỉ đọc trên luồng Swing.
+     */
+    public long getRemainingMillis() {
+        return timeSeconds * 1000L;
+    }
+
     public PieceColor getColor() {
         return color;
     }
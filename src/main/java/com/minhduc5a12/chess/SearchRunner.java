@@ -0,0 +1,45 @@
+package com.minhduc5a12.chess;
+
+import com.minhduc5a12.chess.core.Moves;
+import com.minhduc5a12.chess.core.Position;
+import com.minhduc5a12.chess.engine.search.LazySmpSearch;
+import com.minhduc5a12.chess.engine.search.SearchLimits;
+import com.minhduc5a12.chess.engine.search.SearchResult;
+import com.minhduc5a12.chess.engine.search.Searcher;
+import com.minhduc5a12.chess.engine.search.TranspositionTable;
+
+import java.util.Arrays;
+
+/**
+ * Đo tốc độ nút/giây của máy tìm kiếm nội bộ khi tăng số luồng:
+ * {@code SearchRunner <millis> <maxThreads> [fen]}. Số luồng tăng gấp đôi từ 1 tới {@code maxThreads}.
+ */
+public class SearchRunner {
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: SearchRunner <millis> <maxThreads> [fen]");
+            System.exit(1);
+        }
+        long millis = Long.parseLong(args[0]);
+        int maxThreads = Integer.parseInt(args[1]);
+        String fen = args.length > 2 ? String.join(" ", Arrays.copyOfRange(args, 2, args.length)) : Position.START_FEN;
+        Position position = Position.fromFen(fen);
+
+        System.out.printf("%-8s %-6s %-8s %-12s %-12s %s%n", "Threads", "Depth", "Move", "Nodes", "NPS", "Speedup");
+        double baseline = 0;
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            LazySmpSearch search = new LazySmpSearch(new TranspositionTable(Searcher.DEFAULT_HASH_MB), threads);
+            long start = System.nanoTime();
+            SearchResult result = search.search(position, SearchLimits.ofTime(millis));
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+            search.close();
+
+            double nps = result.nodes() / seconds;
+            if (threads == 1) {
+                baseline = nps;
+            }
+            System.out.printf("%-8d %-6d %-8s %-12d %-12.0f %.2fx%n", threads, result.depth(),
+                    Moves.toUci(result.bestMove()), result.nodes(), nps, nps / baseline);
+        }
+    }
+}
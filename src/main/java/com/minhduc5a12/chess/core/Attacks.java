@@ -0,0 +1,198 @@
+package com.minhduc5a12.chess.core;
+
+/**
+ * Bảng tấn công tính sẵn khi nạp class: bảng cho quân nhảy (mã, vua, tốt ăn chéo)
+ * và bảng magic bitboard cho quân trượt (xe, tượng, hậu).
+ * Mọi truy vấn đều là một lần tra bảng, không duyệt từng tia.
+ */
+public final class Attacks {
+    private static final long[] KNIGHT = new long[64];
+    private static final long[] KING = new long[64];
+    private static final long[][] PAWN = new long[2][64];
+
+    private static final long[] ROOK_MASK = new long[64];
+    private static final long[] ROOK_MAGIC = new long[64];
+    private static final int[] ROOK_SHIFT = new int[64];
+    private static final long[][] ROOK_TABLE = new long[64][];
+
+    private static final long[] BISHOP_MASK = new long[64];
+    private static final long[] BISHOP_MAGIC = new long[64];
+    private static final int[] BISHOP_SHIFT = new int[64];
+    private static final long[][] BISHOP_TABLE = new long[64][];
+
+    private static final long[][] BETWEEN = new long[64][64];
+    private static final long[][] LINE = new long[64][64];
+
+    private static final int[][] ROOK_DIRECTIONS = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
+    private static final int[][] BISHOP_DIRECTIONS = {{1, 1}, {1, -1}, {-1, 1}, {-1, -1}};
+    private static final int[][] KNIGHT_OFFSETS = {{2, 1}, {2, -1}, {-2, 1}, {-2, -1}, {1, 2}, {1, -2}, {-1, 2}, {-1, -2}};
+    private static final int[][] KING_OFFSETS = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}, {1, 1}, {1, -1}, {-1, 1}, {-1, -1}};
+
+    // Seed cố định để bảng magic giống nhau ở mọi lần chạy
+    private static long seed = 0x9E3779B97F4A7C15L;
+
+    static {
+        for (int square = 0; square < 64; square++) {
+            KNIGHT[square] = leaperAttacks(square, KNIGHT_OFFSETS);
+            KING[square] = leaperAttacks(square, KING_OFFSETS);
+            PAWN[Piece.WHITE][square] = leaperAttacks(square, new int[][]{{1, 1}, {-1, 1}});
+            PAWN[Piece.BLACK][square] = leaperAttacks(square, new int[][]{{1, -1}, {-1, -1}});
+        }
+        for (int square = 0; square < 64; square++) {
+            ROOK_MASK[square] = relevantMask(square, ROOK_DIRECTIONS);
+            ROOK_SHIFT[square] = 64 - Long.bitCount(ROOK_MASK[square]);
+            ROOK_TABLE[square] = new long[1 << Long.bitCount(ROOK_MASK[square])];
+            ROOK_MAGIC[square] = findMagic(square, ROOK_MASK[square], ROOK_SHIFT[square], ROOK_TABLE[square], ROOK_DIRECTIONS);
+
+            BISHOP_MASK[square] = relevantMask(square, BISHOP_DIRECTIONS);
+            BISHOP_SHIFT[square] = 64 - Long.bitCount(BISHOP_MASK[square]);
+            BISHOP_TABLE[square] = new long[1 << Long.bitCount(BISHOP_MASK[square])];
+            BISHOP_MAGIC[square] = findMagic(square, BISHOP_MASK[square], BISHOP_SHIFT[square], BISHOP_TABLE[square], BISHOP_DIRECTIONS);
+        }
+        for (int a = 0; a < 64; a++) {
+            for (int b = 0; b < 64; b++) {
+                long ab = (1L << a) | (1L << b);
+                if (a != b && (rook(a, 0L) & (1L << b)) != 0) {
+                    BETWEEN[a][b] = rook(a, 1L << b) & rook(b, 1L << a);
+                    LINE[a][b] = (rook(a, 0L) & rook(b, 0L)) | ab;
+                } else if (a != b && (bishop(a, 0L) & (1L << b)) != 0) {
+                    BETWEEN[a][b] = bishop(a, 1L << b) & bishop(b, 1L << a);
+                    LINE[a][b] = (bishop(a, 0L) & bishop(b, 0L)) | ab;
+                }
+            }
+        }
+    }
+
+    private Attacks() {
+        throw new AssertionError("Cannot instantiate Attacks class");
+    }
+
+    public static long knight(int square) {
+        return KNIGHT[square];
+    }
+
+    public static long king(int square) {
+        return KING[square];
+    }
+
+    public static long pawn(int color, int square) {
+        return PAWN[color][square];
+    }
+
+    public static long rook(int square, long occupied) {
+        return ROOK_TABLE[square][(int) (((occupied & ROOK_MASK[square]) * ROOK_MAGIC[square]) >>> ROOK_SHIFT[square])];
+    }
+
+    public static long bishop(int square, long occupied) {
+        return BISHOP_TABLE[square][(int) (((occupied & BISHOP_MASK[square]) * BISHOP_MAGIC[square]) >>> BISHOP_SHIFT[square])];
+    }
+
+    public static long queen(int square, long occupied) {
+        return rook(square, occupied) | bishop(square, occupied);
+    }
+
+    /**
+     * Các ô nằm giữa hai ô thẳng hàng (không gồm hai đầu), 0 nếu không thẳng hàng.
+     */
+    public static long between(int a, int b) {
+        return BETWEEN[a][b];
+    }
+
+    /**
+     * Cả đường thẳng đi qua hai ô thẳng hàng, 0 nếu không thẳng hàng.
+     */
+    public static long line(int a, int b) {
+        return LINE[a][b];
+    }
+
+    private static long leaperAttacks(int square, int[][] offsets) {
+        long attacks = 0L;
+        int file = Square.file(square);
+        int rank = Square.rank(square);
+        for (int[] offset : offsets) {
+            int f = file + offset[0];
+            int r = rank + offset[1];
+            if (f >= 0 && f < 8 && r >= 0 && r < 8) {
+                attacks |= 1L << ((r << 3) | f);
+            }
+        }
+        return attacks;
+    }
+
+    // Các ô trên tia trừ ô biên, vì quân ở ô biên không ảnh hưởng tới tập ô bị tấn công
+    private static long relevantMask(int square, int[][] directions) {
+        long mask = 0L;
+        int file = Square.file(square);
+        int rank = Square.rank(square);
+        for (int[] dir : directions) {
+            int f = file + dir[0];
+            int r = rank + dir[1];
+            while (f + dir[0] >= 0 && f + dir[0] < 8 && r + dir[1] >= 0 && r + dir[1] < 8) {
+                mask |= 1L << ((r << 3) | f);
+                f += dir[0];
+                r += dir[1];
+            }
+        }
+        return mask;
+    }
+
+    private static long slidingAttacks(int square, long occupied, int[][] directions) {
+        long attacks = 0L;
+        int file = Square.file(square);
+        int rank = Square.rank(square);
+        for (int[] dir : directions) {
+            int f = file + dir[0];
+            int r = rank + dir[1];
+            while (f >= 0 && f < 8 && r >= 0 && r < 8) {
+                long bit = 1L << ((r << 3) | f);
+                attacks |= bit;
+                if ((occupied & bit) != 0) {
+                    break;
+                }
+                f += dir[0];
+                r += dir[1];
+            }
+        }
+        return attacks;
+    }
+
+    private static long findMagic(int square, long mask, int shift, long[] table, int[][] directions) {
+        int size = 1 << (64 - shift);
+        long[] occupancies = new long[size];
+        long[] attacks = new long[size];
+        long subset = 0L;
+        for (int i = 0; i < size; i++) {
+            occupancies[i] = subset;
+            attacks[i] = slidingAttacks(square, subset, directions);
+            subset = (subset - mask) & mask;
+        }
+
+        int[] epoch = new int[size];
+        for (int attempt = 1; ; attempt++) {
+            long magic = nextRandom() & nextRandom() & nextRandom();
+            if (Long.bitCount((mask * magic) & 0xFF00000000000000L) < 6) {
+                continue;
+            }
+            boolean collision = false;
+            for (int i = 0; i < size && !collision; i++) {
+                int index = (int) ((occupancies[i] * magic) >>> shift);
+                if (epoch[index] != attempt) {
+                    epoch[index] = attempt;
+                    table[index] = attacks[i];
+                } else if (table[index] != attacks[i]) {
+                    collision = true;
+                }
+            }
+            if (!collision) {
+                return magic;
+            }
+        }
+    }
+
+    private static long nextRandom() {
+        seed ^= seed >>> 12;
+        seed ^= seed << 25;
+        seed ^= seed >>> 27;
+        return seed * 0x2545F4914F6CDD1DL;
+    }
+}
@@ -0,0 +1,328 @@
+package com.minhduc5a12.chess.core;
+
+/**
+ * Sinh nước đi dạng {@code int} vào {@link MoveList} do nơi gọi cung cấp.
+ * {@link #generate} và các hàm {@code add...} sinh nước giả hợp lệ (chưa kiểm tra vua bị chiếu),
+ * các hàm {@code add...} chỉ nối thêm, không xóa danh sách.
+ * {@link #generateLegal} tính quân chiếu, quân bị ghim và mặt nạ chặn chiếu một lần cho cả thế cờ
+ * và chỉ sinh nước hợp lệ.
+ */
+public final class MoveGenerator {
+    private static final long WHITE_KINGSIDE_PATH = 0x60L;
+    private static final long WHITE_QUEENSIDE_PATH = 0x0EL;
+    private static final long BLACK_KINGSIDE_PATH = WHITE_KINGSIDE_PATH << 56;
+    private static final long BLACK_QUEENSIDE_PATH = WHITE_QUEENSIDE_PATH << 56;
+
+    private MoveGenerator() {
+        throw new AssertionError("Cannot instantiate MoveGenerator class");
+    }
+
+    public static void generate(Position position, MoveList moves) {
+        generate(position, position.getSideToMove(), moves);
+    }
+
+    public static void generate(Position position, int color, MoveList moves) {
+        moves.clear();
+        long own = position.occupancy(color);
+        while (own != 0) {
+            int from = Long.numberOfTrailingZeros(own);
+            own &= own - 1;
+            addPieceMoves(position, from, moves);
+        }
+    }
+
+    public static void addPieceMoves(Position position, int from, MoveList moves) {
+        switch (Piece.type(position.pieceAt(from))) {
+            case Piece.PAWN -> addPawnMoves(position, from, moves);
+            case Piece.KNIGHT -> addKnightMoves(position, from, moves);
+            case Piece.BISHOP -> addBishopMoves(position, from, moves);
+            case Piece.ROOK -> addRookMoves(position, from, moves);
+            case Piece.QUEEN -> addQueenMoves(position, from, moves);
+            case Piece.KING -> addKingMoves(position, from, moves);
+            default -> {
+            }
+        }
+    }
+
+    public static void addPawnMoves(Position position, int from, MoveList moves) {
+        int color = Piece.color(position.pieceAt(from));
+        long enemies = position.occupancy(color ^ 1);
+        long occupied = position.occupied();
+        int forward = color == Piece.WHITE ? 8 : -8;
+        int promotionRank = color == Piece.WHITE ? 7 : 0;
+        int startRank = color == Piece.WHITE ? 1 : 6;
+
+        int to = from + forward;
+        if ((occupied & (1L << to)) == 0) {
+            if (Square.rank(to) == promotionRank) {
+                addPromotions(from, to, false, moves);
+            } else {
+                moves.add(Moves.encode(from, to, Moves.QUIET));
+                int doubleTo = to + forward;
+                if (Square.rank(from) == startRank && (occupied & (1L << doubleTo)) == 0) {
+                    moves.add(Moves.encode(from, doubleTo, Moves.DOUBLE_PAWN_PUSH));
+                }
+            }
+        }
+
+        long attacks = Attacks.pawn(color, from);
+        long captures = attacks & enemies;
+        while (captures != 0) {
+            int target = Long.numberOfTrailingZeros(captures);
+            captures &= captures - 1;
+            if (Square.rank(target) == promotionRank) {
+                addPromotions(from, target, true, moves);
+            } else {
+                moves.add(Moves.encode(from, target, Moves.CAPTURE));
+            }
+        }
+
+        int enPassant = position.getEnPassantSquare();
+        if (enPassant != Square.NONE && position.getSideToMove() == color && (attacks & (1L << enPassant)) != 0) {
+            moves.add(Moves.encode(from, enPassant, Moves.EN_PASSANT));
+        }
+    }
+
+    public static void addKnightMoves(Position position, int from, MoveList moves) {
+        addTargets(position, from, Attacks.knight(from), moves);
+    }
+
+    public static void addBishopMoves(Position position, int from, MoveList moves) {
+        addTargets(position, from, Attacks.bishop(from, position.occupied()), moves);
+    }
+
+    public static void addRookMoves(Position position, int from, MoveList moves) {
+        addTargets(position, from, Attacks.rook(from, position.occupied()), moves);
+    }
+
+    public static void addQueenMoves(Position position, int from, MoveList moves) {
+        addTargets(position, from, Attacks.queen(from, position.occupied()), moves);
+    }
+
+    public static void addKingMoves(Position position, int from, MoveList moves) {
+        addTargets(position, from, Attacks.king(from), moves);
+
+        int color = Piece.color(position.pieceAt(from));
+        boolean white = color == Piece.WHITE;
+        int kingSide = white ? Position.WHITE_KINGSIDE : Position.BLACK_KINGSIDE;
+        int queenSide = white ? Position.WHITE_QUEENSIDE : Position.BLACK_QUEENSIDE;
+        if (!position.hasCastlingRight(kingSide | queenSide) || position.isSquareAttacked(from, color ^ 1)) {
+            return;
+        }
+
+        // Vua không được nhập thành khi đang bị chiếu hoặc đi qua ô bị tấn công
+        long occupied = position.occupied();
+        if (position.hasCastlingRight(kingSide)
+                && (occupied & (white ? WHITE_KINGSIDE_PATH : BLACK_KINGSIDE_PATH)) == 0
+                && !position.isSquareAttacked(from + 1, color ^ 1)) {
+            moves.add(Moves.encode(from, from + 2, Moves.KING_CASTLE));
+        }
+        if (position.hasCastlingRight(queenSide)
+                && (occupied & (white ? WHITE_QUEENSIDE_PATH : BLACK_QUEENSIDE_PATH)) == 0
+                && !position.isSquareAttacked(from - 1, color ^ 1)) {
+            moves.add(Moves.encode(from, from - 2, Moves.QUEEN_CASTLE));
+        }
+    }
+
+    public static void generateLegal(Position position, MoveList moves) {
+        generateLegal(position, position.getSideToMove(), moves);
+    }
+
+    public static void generateLegal(Position position, int color, MoveList moves) {
+        moves.clear();
+        generateLegal(position, moves, color);
+    }
+
+    /**
+     * Dừng ngay khi tìm thấy nước hợp lệ đầu tiên, dùng cho kiểm tra chiếu hết và hết nước đi.
+     */
+    public static boolean hasAnyLegalMove(Position position) {
+        return hasAnyLegalMove(position, position.getSideToMove());
+    }
+
+    public static boolean hasAnyLegalMove(Position position, int color) {
+        return generateLegal(position, null, color);
+    }
+
+    // moves == null nghĩa là chỉ cần biết có nước hợp lệ hay không
+    private static boolean generateLegal(Position position, MoveList moves, int us) {
+        int them = us ^ 1;
+        int king = position.kingSquare(us);
+        long own = position.occupancy(us);
+        long enemies = position.occupancy(them);
+        long occupied = own | enemies;
+
+        long kingTargets = Attacks.king(king) & ~own;
+        long withoutKing = occupied ^ (1L << king);
+        while (kingTargets != 0) {
+            int to = Long.numberOfTrailingZeros(kingTargets);
+            kingTargets &= kingTargets - 1;
+            if (!position.isSquareAttacked(to, them, withoutKing)) {
+                if (moves == null) {
+                    return true;
+                }
+                moves.add(Moves.encode(king, to, (enemies & (1L << to)) != 0 ? Moves.CAPTURE : Moves.QUIET));
+            }
+        }
+
+        long checkers = position.attackersTo(king, occupied) & enemies;
+        if (Long.bitCount(checkers) > 1) {
+            return false;
+        }
+
+        long checkMask = -1L;
+        if (checkers != 0) {
+            checkMask = checkers | Attacks.between(king, Long.numberOfTrailingZeros(checkers));
+        } else if (addLegalCastling(position, king, us, moves)) {
+            return true;
+        }
+
+        long pinned = pinnedPieces(position, king, us);
+        long pieces = own & ~(1L << king);
+        while (pieces != 0) {
+            int from = Long.numberOfTrailingZeros(pieces);
+            pieces &= pieces - 1;
+            long mask = (pinned & (1L << from)) != 0 ? checkMask & Attacks.line(king, from) : checkMask;
+            int type = Piece.type(position.pieceAt(from));
+            long targets = switch (type) {
+                case Piece.PAWN -> 0L;
+                case Piece.KNIGHT -> Attacks.knight(from);
+                case Piece.BISHOP -> Attacks.bishop(from, occupied);
+                case Piece.ROOK -> Attacks.rook(from, occupied);
+                default -> Attacks.queen(from, occupied);
+            };
+            if (type == Piece.PAWN) {
+                if (addLegalPawnMoves(position, from, us, mask, moves)) {
+                    return true;
+                }
+                continue;
+            }
+            targets &= ~own & mask;
+            if (targets != 0) {
+                if (moves == null) {
+                    return true;
+                }
+                addTargets(position, from, targets, moves);
+            }
+        }
+        return false;
+    }
+
+    private static long pinnedPieces(Position position, int king, int us) {
+        int them = us ^ 1;
+        long own = position.occupancy(us);
+        long enemies = position.occupancy(them);
+        long queens = position.bitboard(them, Piece.QUEEN);
+        // Tia từ vua xuyên qua quân mình, dừng ở quân địch đầu tiên
+        long snipers = (Attacks.rook(king, enemies) & (position.bitboard(them, Piece.ROOK) | queens))
+                | (Attacks.bishop(king, enemies) & (position.bitboard(them, Piece.BISHOP) | queens));
+        long occupied = own | enemies;
+        long pinned = 0L;
+        while (snipers != 0) {
+            int sniper = Long.numberOfTrailingZeros(snipers);
+            snipers &= snipers - 1;
+            long blockers = Attacks.between(king, sniper) & occupied;
+            if (Long.bitCount(blockers) == 1 && (blockers & own) != 0) {
+                pinned |= blockers;
+            }
+        }
+        return pinned;
+    }
+
+    private static boolean addLegalPawnMoves(Position position, int from, int us, long mask, MoveList moves) {
+        long occupied = position.occupied();
+        long enemies = position.occupancy(us ^ 1);
+        int forward = us == Piece.WHITE ? 8 : -8;
+        int promotionRank = us == Piece.WHITE ? 7 : 0;
+        int startRank = us == Piece.WHITE ? 1 : 6;
+
+        long targets = 0L;
+        int to = from + forward;
+        if ((occupied & (1L << to)) == 0) {
+            targets |= 1L << to;
+            int doubleTo = to + forward;
+            if (Square.rank(from) == startRank && (occupied & (1L << doubleTo)) == 0) {
+                targets |= 1L << doubleTo;
+            }
+        }
+        long attacks = Attacks.pawn(us, from);
+        targets = (targets | (attacks & enemies)) & mask;
+
+        if (targets != 0) {
+            if (moves == null) {
+                return true;
+            }
+            while (targets != 0) {
+                int target = Long.numberOfTrailingZeros(targets);
+                targets &= targets - 1;
+                boolean capture = (enemies & (1L << target)) != 0;
+                if (Square.rank(target) == promotionRank) {
+                    addPromotions(from, target, capture, moves);
+                } else if (capture) {
+                    moves.add(Moves.encode(from, target, Moves.CAPTURE));
+                } else {
+                    moves.add(Moves.encode(from, target, Math.abs(target - from) == 16 ? Moves.DOUBLE_PAWN_PUSH : Moves.QUIET));
+                }
+            }
+        }
+
+        // Bắt tốt qua đường hiếm gặp nhưng có trường hợp ghim ngang khó, nên thử trực tiếp
+        int enPassant = position.getEnPassantSquare();
+        if (enPassant != Square.NONE && us == position.getSideToMove() && (attacks & (1L << enPassant)) != 0) {
+            int move = Moves.encode(from, enPassant, Moves.EN_PASSANT);
+            position.makeMove(move);
+            boolean legal = !position.isInCheck(us);
+            position.unmakeMove();
+            if (legal) {
+                if (moves == null) {
+                    return true;
+                }
+                moves.add(move);
+            }
+        }
+        return false;
+    }
+
+    private static boolean addLegalCastling(Position position, int king, int us, MoveList moves) {
+        boolean white = us == Piece.WHITE;
+        int them = us ^ 1;
+        long occupied = position.occupied();
+        if (position.hasCastlingRight(white ? Position.WHITE_KINGSIDE : Position.BLACK_KINGSIDE)
+                && (occupied & (white ? WHITE_KINGSIDE_PATH : BLACK_KINGSIDE_PATH)) == 0
+                && !position.isSquareAttacked(king + 1, them)
+                && !position.isSquareAttacked(king + 2, them)) {
+            if (moves == null) {
+                return true;
+            }
+            moves.add(Moves.encode(king, king + 2, Moves.KING_CASTLE));
+        }
+        if (position.hasCastlingRight(white ? Position.WHITE_QUEENSIDE : Position.BLACK_QUEENSIDE)
+                && (occupied & (white ? WHITE_QUEENSIDE_PATH : BLACK_QUEENSIDE_PATH)) == 0
+                && !position.isSquareAttacked(king - 1, them)
+                && !position.isSquareAttacked(king - 2, them)) {
+            if (moves == null) {
+                return true;
+            }
+            moves.add(Moves.encode(king, king - 2, Moves.QUEEN_CASTLE));
+        }
+        return false;
+    }
+
+    private static void addTargets(Position position, int from, long attacks, MoveList moves) {
+        int color = Piece.color(position.pieceAt(from));
+        long enemies = position.occupancy(color ^ 1);
+        long targets = attacks & ~position.occupancy(color);
+        while (targets != 0) {
+            int to = Long.numberOfTrailingZeros(targets);
+            targets &= targets - 1;
+            moves.add(Moves.encode(from, to, (enemies & (1L << to)) != 0 ? Moves.CAPTURE : Moves.QUIET));
+        }
+    }
+
+    private static void addPromotions(int from, int to, boolean capture, MoveList moves) {
+        moves.add(Moves.promotion(from, to, Piece.QUEEN, capture));
+        moves.add(Moves.promotion(from, to, Piece.ROOK, capture));
+        moves.add(Moves.promotion(from, to, Piece.BISHOP, capture));
+        moves.add(Moves.promotion(from, to, Piece.KNIGHT, capture));
+    }
+}
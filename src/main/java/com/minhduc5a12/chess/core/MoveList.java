@@ -0,0 +1,57 @@
+package com.minhduc5a12.chess.core;
+
+/**
+ * Bộ đệm nước đi dạng {@code int} do nơi gọi sở hữu và tái sử dụng giữa các lần sinh nước,
+ * tránh cấp phát đối tượng trong vòng lặp nóng.
+ */
+public final class MoveList {
+    // Số nước giả hợp lệ tối đa đã biết của một thế cờ là 218
+    public static final int CAPACITY = 256;
+
+    private final int[] moves = new int[CAPACITY];
+    private int size;
+
+    public void add(int move) {
+        moves[size++] = move;
+    }
+
+    public int get(int index) {
+        return moves[index];
+    }
+
+    public void set(int index, int move) {
+        moves[index] = move;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Tìm nước đi theo ô đi và ô đến; nước phong cấp được hiểu là phong hậu.
+     *
+     * @return Nước đi tìm được, hoặc {@link Moves#NONE}.
+     */
+    public int find(int from, int to) {
+        return find(from, to, Piece.QUEEN);
+    }
+
+    public int find(int from, int to, int promotionType) {
+        for (int i = 0; i < size; i++) {
+            int move = moves[i];
+            if (Moves.from(move) == from && Moves.to(move) == to
+                    && (!Moves.isPromotion(move) || Moves.promotionType(move) == promotionType)) {
+                return move;
+            }
+        }
+        return Moves.NONE;
+    }
+}
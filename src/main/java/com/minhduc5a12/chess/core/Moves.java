@@ -0,0 +1,73 @@
+package com.minhduc5a12.chess.core;
+
+/**
+ * Nước đi được nén trong 16 bit của một {@code int}: 6 bit ô đi, 6 bit ô đến, 4 bit cờ.
+ * Cờ dùng cách mã hóa quen thuộc: bit 2 là ăn quân, bit 3 là phong cấp,
+ * hai bit thấp chọn loại quân phong cấp (mã, tượng, xe, hậu).
+ */
+public final class Moves {
+    public static final int NONE = 0;
+
+    public static final int QUIET = 0;
+    public static final int DOUBLE_PAWN_PUSH = 1;
+    public static final int KING_CASTLE = 2;
+    public static final int QUEEN_CASTLE = 3;
+    public static final int CAPTURE = 4;
+    public static final int EN_PASSANT = 5;
+    public static final int PROMOTION = 8;
+    public static final int PROMOTION_CAPTURE = 12;
+
+    private Moves() {
+        throw new AssertionError("Cannot instantiate Moves class");
+    }
+
+    public static int encode(int from, int to, int flags) {
+        return from | (to << 6) | (flags << 12);
+    }
+
+    public static int promotion(int from, int to, int promotionType, boolean capture) {
+        return encode(from, to, (capture ? PROMOTION_CAPTURE : PROMOTION) | (promotionType - Piece.KNIGHT));
+    }
+
+    public static int from(int move) {
+        return move & 0x3F;
+    }
+
+    public static int to(int move) {
+        return (move >>> 6) & 0x3F;
+    }
+
+    public static int flags(int move) {
+        return (move >>> 12) & 0xF;
+    }
+
+    public static boolean isCapture(int move) {
+        return (move & (CAPTURE << 12)) != 0;
+    }
+
+    public static boolean isPromotion(int move) {
+        return (move & (PROMOTION << 12)) != 0;
+    }
+
+    public static boolean isEnPassant(int move) {
+        return flags(move) == EN_PASSANT;
+    }
+
+    public static boolean isCastling(int move) {
+        int flags = flags(move);
+        return flags == KING_CASTLE || flags == QUEEN_CASTLE;
+    }
+
+    /**
+     * @return Loại quân phong cấp, hoặc {@link Piece#NONE} nếu không phải nước phong cấp.
+     */
+    public static int promotionType(int move) {
+        return isPromotion(move) ? Piece.KNIGHT + (flags(move) & 3) : Piece.NONE;
+    }
+
+    public static String toUci(int move) {
+        String uci = Square.name(from(move)) + Square.name(to(move));
+        int promotionType = promotionType(move);
+        return promotionType == Piece.NONE ? uci : uci + Character.toLowerCase(Piece.toFenChar(promotionType));
+    }
+}
@@ -0,0 +1,69 @@
+package com.minhduc5a12.chess.core;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Đếm số nút lá của cây nước đi hợp lệ tới độ sâu cho trước, dùng để đối chiếu bộ sinh nước
+ * với các con số đã công bố. Mỗi tầng dùng lại một {@link MoveList} riêng.
+ */
+public final class Perft {
+
+    private Perft() {
+        throw new AssertionError("Cannot instantiate Perft class");
+    }
+
+    public static long perft(Position position, int depth) {
+        if (depth <= 0) {
+            return 1;
+        }
+        return perft(position, depth, newBuffers(depth));
+    }
+
+    /**
+     * @return Số nút lá dưới từng nước đi ở gốc, theo thứ tự sinh nước, khóa là ký hiệu UCI.
+     */
+    public static Map<String, Long> divide(Position position, int depth) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        if (depth <= 0) {
+            return result;
+        }
+        MoveList[] buffers = newBuffers(depth);
+        MoveList moves = buffers[depth];
+        MoveGenerator.generateLegal(position, moves);
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            position.makeMove(move);
+            result.put(Moves.toUci(move), perft(position, depth - 1, buffers));
+            position.unmakeMove();
+        }
+        return result;
+    }
+
+    private static long perft(Position position, int depth, MoveList[] buffers) {
+        if (depth == 0) {
+            return 1;
+        }
+        MoveList moves = buffers[depth];
+        MoveGenerator.generateLegal(position, moves);
+        // Ở tầng cuối chỉ cần đếm, không cần đi thử từng nước
+        if (depth == 1) {
+            return moves.size();
+        }
+        long nodes = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            position.makeMove(moves.get(i));
+            nodes += perft(position, depth - 1, buffers);
+            position.unmakeMove();
+        }
+        return nodes;
+    }
+
+    private static MoveList[] newBuffers(int depth) {
+        MoveList[] buffers = new MoveList[depth + 1];
+        for (int i = 0; i <= depth; i++) {
+            buffers[i] = new MoveList();
+        }
+        return buffers;
+    }
+}
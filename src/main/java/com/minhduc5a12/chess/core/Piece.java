@@ -0,0 +1,60 @@
+package com.minhduc5a12.chess.core;
+
+import com.minhduc5a12.chess.constants.PieceColor;
+
+/**
+ * Mã hóa quân cờ dạng số nguyên: {@code color * 6 + type}, {@link #NONE} cho ô trống.
+ */
+public final class Piece {
+    public static final int NONE = -1;
+
+    public static final int PAWN = 0;
+    public static final int KNIGHT = 1;
+    public static final int BISHOP = 2;
+    public static final int ROOK = 3;
+    public static final int QUEEN = 4;
+    public static final int KING = 5;
+
+    public static final int WHITE = 0;
+    public static final int BLACK = 1;
+
+    public static final int COUNT = 12;
+
+    private static final String FEN_CHARS = "PNBRQKpnbrqk";
+
+    private Piece() {
+        throw new AssertionError("Cannot instantiate Piece class");
+    }
+
+    public static int of(int color, int type) {
+        return color * 6 + type;
+    }
+
+    public static int type(int piece) {
+        return piece % 6;
+    }
+
+    public static int color(int piece) {
+        return piece / 6;
+    }
+
+    public static char toFenChar(int piece) {
+        return FEN_CHARS.charAt(piece);
+    }
+
+    public static int fromFenChar(char c) {
+        int piece = FEN_CHARS.indexOf(c);
+        if (piece < 0) {
+            throw new IllegalArgumentException("Unknown piece symbol: " + c);
+        }
+        return piece;
+    }
+
+    public static int colorOf(PieceColor color) {
+        return color == PieceColor.WHITE ? WHITE : BLACK;
+    }
+
+    public static PieceColor toPieceColor(int color) {
+        return color == WHITE ? PieceColor.WHITE : PieceColor.BLACK;
+    }
+}
@@ -0,0 +1,494 @@
+package com.minhduc5a12.chess.core;
+
+/**
+ * Trạng thái ván cờ không phụ thuộc giao diện: 12 bitboard cho 12 loại quân,
+ * bên đi, quyền nhập thành, ô bắt tốt qua đường và đồng hồ 50 nước.
+ * Mảng {@code board} là bản sao dạng mailbox để tra quân trên một ô trong O(1).
+ * Khóa Zobrist được cập nhật từng phần và lưu theo ply để phát hiện lặp lại thế cờ;
+ * khóa riêng cho tốt dùng để tra bảng băm cấu trúc tốt.
+ * Điểm vật chất + bảng vị trí ({@link PieceSquareTable}) và giai đoạn ván cờ cũng được cập nhật từng phần.
+ */
+public class Position {
+    public static final String START_FEN = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+    public static final int WHITE_KINGSIDE = 1;
+    public static final int WHITE_QUEENSIDE = 2;
+    public static final int BLACK_KINGSIDE = 4;
+    public static final int BLACK_QUEENSIDE = 8;
+
+    private static final int[] CASTLING_MASK = new int[64];
+
+    static {
+        java.util.Arrays.fill(CASTLING_MASK, 0xF);
+        CASTLING_MASK[0] &= ~WHITE_QUEENSIDE;
+        CASTLING_MASK[7] &= ~WHITE_KINGSIDE;
+        CASTLING_MASK[4] &= ~(WHITE_KINGSIDE | WHITE_QUEENSIDE);
+        CASTLING_MASK[56] &= ~BLACK_QUEENSIDE;
+        CASTLING_MASK[63] &= ~BLACK_KINGSIDE;
+        CASTLING_MASK[60] &= ~(BLACK_KINGSIDE | BLACK_QUEENSIDE);
+    }
+
+    private final long[] pieces = new long[Piece.COUNT];
+    private final long[] occupancy = new long[2];
+    private final int[] board = new int[64];
+    private final int[] kingSquares = new int[2];
+    private int sideToMove;
+    private int castlingRights;
+    private int enPassantSquare;
+    private int halfmoveClock;
+    private int fullmoveNumber;
+    private long key;
+    private long pawnKey;
+    private int psqt;
+    private int phase;
+    private int[] moveStack = new int[256];
+    private int[] undoStack = new int[256];
+    private long[] keyStack = new long[256];
+    private int[] psqtStack = new int[256];
+    private int ply;
+
+    public Position() {
+        clear();
+    }
+
+    /**
+     * Bản sao độc lập, gồm cả ngăn xếp nước đi để luồng tìm kiếm vẫn phát hiện được lặp lại.
+     */
+    public Position(Position other) {
+        System.arraycopy(other.pieces, 0, pieces, 0, pieces.length);
+        System.arraycopy(other.occupancy, 0, occupancy, 0, occupancy.length);
+        System.arraycopy(other.board, 0, board, 0, board.length);
+        System.arraycopy(other.kingSquares, 0, kingSquares, 0, kingSquares.length);
+        sideToMove = other.sideToMove;
+        castlingRights = other.castlingRights;
+        enPassantSquare = other.enPassantSquare;
+        halfmoveClock = other.halfmoveClock;
+        fullmoveNumber = other.fullmoveNumber;
+        key = other.key;
+        pawnKey = other.pawnKey;
+        psqt = other.psqt;
+        phase = other.phase;
+        moveStack = other.moveStack.clone();
+        undoStack = other.undoStack.clone();
+        keyStack = other.keyStack.clone();
+        psqtStack = other.psqtStack.clone();
+        ply = other.ply;
+    }
+
+    public static Position startPosition() {
+        return fromFen(START_FEN);
+    }
+
+    public static Position fromFen(String fen) {
+        Position position = new Position();
+        position.setFen(fen);
+        return position;
+    }
+
+    public void clear() {
+        java.util.Arrays.fill(pieces, 0L);
+        java.util.Arrays.fill(occupancy, 0L);
+        java.util.Arrays.fill(board, Piece.NONE);
+        java.util.Arrays.fill(kingSquares, Square.NONE);
+        sideToMove = Piece.WHITE;
+        castlingRights = 0;
+        enPassantSquare = Square.NONE;
+        halfmoveClock = 0;
+        fullmoveNumber = 1;
+        key = 0L;
+        pawnKey = 0L;
+        psqt = 0;
+        phase = 0;
+        ply = 0;
+    }
+
+    public void setFen(String fen) {
+        String[] parts = fen.trim().split("\\s+");
+        if (parts.length < 4) {
+            throw new IllegalArgumentException("Invalid FEN: " + fen);
+        }
+        clear();
+
+        int rank = 7;
+        int file = 0;
+        for (char c : parts[0].toCharArray()) {
+            if (c == '/') {
+                rank--;
+                file = 0;
+            } else if (Character.isDigit(c)) {
+                file += c - '0';
+            } else {
+                if (rank < 0 || file > 7) {
+                    throw new IllegalArgumentException("Invalid FEN: " + fen);
+                }
+                putPiece(Piece.fromFenChar(c), (rank << 3) | file);
+                file++;
+            }
+        }
+
+        sideToMove = parts[1].equals("b") ? Piece.BLACK : Piece.WHITE;
+
+        for (char c : parts[2].toCharArray()) {
+            switch (c) {
+                case 'K' -> castlingRights |= WHITE_KINGSIDE;
+                case 'Q' -> castlingRights |= WHITE_QUEENSIDE;
+                case 'k' -> castlingRights |= BLACK_KINGSIDE;
+                case 'q' -> castlingRights |= BLACK_QUEENSIDE;
+                default -> {
+                }
+            }
+        }
+
+        enPassantSquare = parts[3].equals("-") ? Square.NONE : Square.parse(parts[3]);
+        halfmoveClock = parts.length > 4 ? Integer.parseInt(parts[4]) : 0;
+        fullmoveNumber = parts.length > 5 ? Integer.parseInt(parts[5]) : 1;
+        key ^= Zobrist.castling(castlingRights) ^ enPassantKey();
+        if (sideToMove == Piece.BLACK) {
+            key ^= Zobrist.side();
+        }
+    }
+
+    public String toFen() {
+        StringBuilder fen = new StringBuilder();
+        for (int rank = 7; rank >= 0; rank--) {
+            int emptyCount = 0;
+            for (int file = 0; file < 8; file++) {
+                int piece = board[(rank << 3) | file];
+                if (piece == Piece.NONE) {
+                    emptyCount++;
+                } else {
+                    if (emptyCount > 0) {
+                        fen.append(emptyCount);
+                        emptyCount = 0;
+                    }
+                    fen.append(Piece.toFenChar(piece));
+                }
+            }
+            if (emptyCount > 0) {
+                fen.append(emptyCount);
+            }
+            if (rank > 0) {
+                fen.append('/');
+            }
+        }
+
+        fen.append(sideToMove == Piece.WHITE ? " w " : " b ");
+
+        if (castlingRights == 0) {
+            fen.append('-');
+        } else {
+            if ((castlingRights & WHITE_KINGSIDE) != 0) fen.append('K');
+            if ((castlingRights & WHITE_QUEENSIDE) != 0) fen.append('Q');
+            if ((castlingRights & BLACK_KINGSIDE) != 0) fen.append('k');
+            if ((castlingRights & BLACK_QUEENSIDE) != 0) fen.append('q');
+        }
+
+        fen.append(' ').append(enPassantSquare == Square.NONE ? "-" : Square.name(enPassantSquare));
+        fen.append(' ').append(halfmoveClock);
+        fen.append(' ').append(fullmoveNumber);
+        return fen.toString();
+    }
+
+    public void putPiece(int piece, int square) {
+        long bit = 1L << square;
+        pieces[piece] |= bit;
+        occupancy[Piece.color(piece)] |= bit;
+        board[square] = piece;
+        key ^= Zobrist.piece(piece, square);
+        psqt += PieceSquareTable.score(piece, square);
+        phase += PieceSquareTable.phase(piece);
+        if (Piece.type(piece) == Piece.KING) {
+            kingSquares[Piece.color(piece)] = square;
+        } else if (Piece.type(piece) == Piece.PAWN) {
+            pawnKey ^= Zobrist.piece(piece, square);
+        }
+    }
+
+    public int removePiece(int square) {
+        int piece = board[square];
+        if (piece != Piece.NONE) {
+            long bit = 1L << square;
+            pieces[piece] &= ~bit;
+            occupancy[Piece.color(piece)] &= ~bit;
+            board[square] = Piece.NONE;
+            key ^= Zobrist.piece(piece, square);
+            psqt -= PieceSquareTable.score(piece, square);
+            phase -= PieceSquareTable.phase(piece);
+            if (Piece.type(piece) == Piece.KING) {
+                kingSquares[Piece.color(piece)] = Square.NONE;
+            } else if (Piece.type(piece) == Piece.PAWN) {
+                pawnKey ^= Zobrist.piece(piece, square);
+            }
+        }
+        return piece;
+    }
+
+    public void movePiece(int from, int to) {
+        int piece = board[from];
+        long fromTo = (1L << from) | (1L << to);
+        pieces[piece] ^= fromTo;
+        occupancy[Piece.color(piece)] ^= fromTo;
+        board[from] = Piece.NONE;
+        board[to] = piece;
+        key ^= Zobrist.piece(piece, from) ^ Zobrist.piece(piece, to);
+        psqt += PieceSquareTable.score(piece, to) - PieceSquareTable.score(piece, from);
+        if (Piece.type(piece) == Piece.KING) {
+            kingSquares[Piece.color(piece)] = to;
+        } else if (Piece.type(piece) == Piece.PAWN) {
+            pawnKey ^= Zobrist.piece(piece, from) ^ Zobrist.piece(piece, to);
+        }
+    }
+
+    /**
+     * Thực hiện một nước đi giả hợp lệ và đẩy bản ghi hoàn tác lên ngăn xếp.
+     * Bản ghi nén trong một {@code int}: quân bị bắt, quyền nhập thành, ô bắt tốt qua đường, đồng hồ 50 nước;
+     * khóa Zobrist và điểm PST trước nước đi được lưu cạnh đó để hoàn tác trong O(1).
+     */
+    public void makeMove(int move) {
+        int from = Moves.from(move);
+        int to = Moves.to(move);
+        int flags = Moves.flags(move);
+        int piece = board[from];
+        int us = sideToMove;
+
+        int captureSquare = flags == Moves.EN_PASSANT ? (us == Piece.WHITE ? to - 8 : to + 8) : to;
+        int captured = Moves.isCapture(move) ? board[captureSquare] : Piece.NONE;
+
+        if (ply == moveStack.length) {
+            moveStack = java.util.Arrays.copyOf(moveStack, ply * 2);
+            undoStack = java.util.Arrays.copyOf(undoStack, ply * 2);
+            keyStack = java.util.Arrays.copyOf(keyStack, ply * 2);
+            psqtStack = java.util.Arrays.copyOf(psqtStack, ply * 2);
+        }
+        moveStack[ply] = move;
+        keyStack[ply] = key;
+        psqtStack[ply] = psqt;
+        undoStack[ply] = (captured + 1) | (castlingRights << 4) | ((enPassantSquare + 1) << 8) | (halfmoveClock << 15);
+        ply++;
+
+        key ^= Zobrist.castling(castlingRights) ^ enPassantKey();
+        if (captured != Piece.NONE) {
+            removePiece(captureSquare);
+        }
+        movePiece(from, to);
+
+        if (flags == Moves.KING_CASTLE) {
+            movePiece(from + 3, from + 1);
+        } else if (flags == Moves.QUEEN_CASTLE) {
+            movePiece(from - 4, from - 1);
+        } else if (Moves.isPromotion(move)) {
+            removePiece(to);
+            putPiece(Piece.of(us, Moves.promotionType(move)), to);
+        }
+
+        castlingRights &= CASTLING_MASK[from] & CASTLING_MASK[to];
+        enPassantSquare = flags == Moves.DOUBLE_PAWN_PUSH ? (from + to) >>> 1 : Square.NONE;
+        halfmoveClock = Piece.type(piece) == Piece.PAWN || captured != Piece.NONE ? 0 : halfmoveClock + 1;
+        if (us == Piece.BLACK) {
+            fullmoveNumber++;
+        }
+        sideToMove = us ^ 1;
+        key ^= Zobrist.castling(castlingRights) ^ enPassantKey() ^ Zobrist.side();
+    }
+
+    public void unmakeMove() {
+        ply--;
+        int move = moveStack[ply];
+        int undo = undoStack[ply];
+        int from = Moves.from(move);
+        int to = Moves.to(move);
+        int flags = Moves.flags(move);
+
+        sideToMove ^= 1;
+        int us = sideToMove;
+        if (us == Piece.BLACK) {
+            fullmoveNumber--;
+        }
+
+        if (Moves.isPromotion(move)) {
+            removePiece(to);
+            putPiece(Piece.of(us, Piece.PAWN), to);
+        } else if (flags == Moves.KING_CASTLE) {
+            movePiece(from + 1, from + 3);
+        } else if (flags == Moves.QUEEN_CASTLE) {
+            movePiece(from - 1, from - 4);
+        }
+        movePiece(to, from);
+
+        int captured = (undo & 0xF) - 1;
+        if (captured != Piece.NONE) {
+            putPiece(captured, flags == Moves.EN_PASSANT ? (us == Piece.WHITE ? to - 8 : to + 8) : to);
+        }
+
+        castlingRights = (undo >>> 4) & 0xF;
+        enPassantSquare = ((undo >>> 8) & 0x7F) - 1;
+        halfmoveClock = undo >>> 15;
+        key = keyStack[ply];
+        psqt = psqtStack[ply];
+    }
+
+    public long getKey() {
+        return key;
+    }
+
+    /**
+     * @return Khóa Zobrist chỉ gồm các quân tốt, không đổi khi quân khác di chuyển.
+     */
+    public long getPawnKey() {
+        return pawnKey;
+    }
+
+    /**
+     * @return Điểm vật chất + vị trí của trắng trừ đen, nén trung cuộc/tàn cuộc như {@link PieceSquareTable#pack}.
+     */
+    public int getPsqt() {
+        return psqt;
+    }
+
+    /**
+     * @return Giai đoạn ván cờ theo quân còn trên bàn, có thể vượt {@link PieceSquareTable#MAX_PHASE} khi có phong cấp.
+     */
+    public int getPhase() {
+        return phase;
+    }
+
+    // Ô bắt tốt qua đường chỉ tính vào khóa khi bên đi thực sự có tốt bắt được,
+    // để hai thế cờ giống hệt nhau không bị coi là khác chỉ vì một nước tốt đi hai ô
+    private long enPassantKey() {
+        if (enPassantSquare == Square.NONE
+                || (Attacks.pawn(sideToMove ^ 1, enPassantSquare) & pieces[Piece.of(sideToMove, Piece.PAWN)]) == 0) {
+            return 0L;
+        }
+        return Zobrist.enPassant(enPassantSquare);
+    }
+
+    /**
+     * Đếm số lần thế cờ hiện tại đã xuất hiện trước đó trên ngăn xếp.
+     * Chỉ xét cùng bên đi và dừng ở nước không thể đảo ngược gần nhất (ăn quân hoặc đi tốt).
+     */
+    public int repetitionCount() {
+        int count = 0;
+        int limit = Math.max(0, ply - halfmoveClock);
+        for (int i = ply - 2; i >= limit; i -= 2) {
+            if (keyStack[i] == key) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return Nước đi cuối cùng trên ngăn xếp, hoặc {@link Moves#NONE}.
+     */
+    public int lastMove() {
+        return ply == 0 ? Moves.NONE : moveStack[ply - 1];
+    }
+
+    /**
+     * @return Nước thứ {@code index} (tính từ 0) trên ngăn xếp, tức lịch sử ván kể từ FEN gốc.
+     */
+    public int moveAt(int index) {
+        if (index < 0 || index >= ply) {
+            throw new IndexOutOfBoundsException("Move index " + index + " out of " + ply);
+        }
+        return moveStack[index];
+    }
+
+    public int getPly() {
+        return ply;
+    }
+
+    public int pieceAt(int square) {
+        return board[square];
+    }
+
+    public long bitboard(int piece) {
+        return pieces[piece];
+    }
+
+    public long bitboard(int color, int type) {
+        return pieces[Piece.of(color, type)];
+    }
+
+    public long occupancy(int color) {
+        return occupancy[color];
+    }
+
+    public long occupied() {
+        return occupancy[Piece.WHITE] | occupancy[Piece.BLACK];
+    }
+
+    public int kingSquare(int color) {
+        return kingSquares[color];
+    }
+
+    /**
+     * Kiểm tra ô có bị bên {@code byColor} tấn công không bằng cách nhìn ngược từ chính ô đó:
+     * một quân loại X tấn công ô khi và chỉ khi quân X đặt tại ô đó tấn công được quân kia.
+     */
+    public boolean isSquareAttacked(int square, int byColor) {
+        return isSquareAttacked(square, byColor, occupied());
+    }
+
+    /**
+     * Như {@link #isSquareAttacked(int, int)} nhưng với tập ô bị chiếm tùy chọn,
+     * ví dụ bỏ vua ra khỏi bàn để xét ô vua chạy tới.
+     */
+    public boolean isSquareAttacked(int square, int byColor, long occupied) {
+        long queens = pieces[Piece.of(byColor, Piece.QUEEN)];
+        return (Attacks.pawn(byColor ^ 1, square) & pieces[Piece.of(byColor, Piece.PAWN)]) != 0
+                || (Attacks.knight(square) & pieces[Piece.of(byColor, Piece.KNIGHT)]) != 0
+                || (Attacks.king(square) & pieces[Piece.of(byColor, Piece.KING)]) != 0
+                || (Attacks.bishop(square, occupied) & (pieces[Piece.of(byColor, Piece.BISHOP)] | queens)) != 0
+                || (Attacks.rook(square, occupied) & (pieces[Piece.of(byColor, Piece.ROOK)] | queens)) != 0;
+    }
+
+    /**
+     * @return Bitboard mọi quân (cả hai bên) đang tấn công ô {@code square}.
+     */
+    public long attackersTo(int square, long occupied) {
+        long queens = pieces[Piece.of(Piece.WHITE, Piece.QUEEN)] | pieces[Piece.of(Piece.BLACK, Piece.QUEEN)];
+        long bishops = pieces[Piece.of(Piece.WHITE, Piece.BISHOP)] | pieces[Piece.of(Piece.BLACK, Piece.BISHOP)] | queens;
+        long rooks = pieces[Piece.of(Piece.WHITE, Piece.ROOK)] | pieces[Piece.of(Piece.BLACK, Piece.ROOK)] | queens;
+        return (Attacks.pawn(Piece.BLACK, square) & pieces[Piece.of(Piece.WHITE, Piece.PAWN)])
+                | (Attacks.pawn(Piece.WHITE, square) & pieces[Piece.of(Piece.BLACK, Piece.PAWN)])
+                | (Attacks.knight(square) & (pieces[Piece.of(Piece.WHITE, Piece.KNIGHT)] | pieces[Piece.of(Piece.BLACK, Piece.KNIGHT)]))
+                | (Attacks.king(square) & (pieces[Piece.of(Piece.WHITE, Piece.KING)] | pieces[Piece.of(Piece.BLACK, Piece.KING)]))
+                | (Attacks.bishop(square, occupied) & bishops)
+                | (Attacks.rook(square, occupied) & rooks);
+    }
+
+    public boolean isInCheck(int color) {
+        int king = kingSquares[color];
+        return king != Square.NONE && isSquareAttacked(king, color ^ 1);
+    }
+
+    public int getSideToMove() {
+        return sideToMove;
+    }
+
+    public int getCastlingRights() {
+        return castlingRights;
+    }
+
+    public boolean hasCastlingRight(int right) {
+        return (castlingRights & right) != 0;
+    }
+
+    public int getEnPassantSquare() {
+        return enPassantSquare;
+    }
+
+    public int getHalfmoveClock() {
+        return halfmoveClock;
+    }
+
+    public int getFullmoveNumber() {
+        return fullmoveNumber;
+    }
+
+    @Override
+    public String toString() {
+        return toFen();
+    }
+}
@@ -0,0 +1,53 @@
+package com.minhduc5a12.chess.core;
+
+/**
+ * Chỉ số ô cờ: a1 = 0, h1 = 7, ..., h8 = 63.
+ * Tọa độ (x, y) của giao diện có y = 0 là hàng 8, nên cần đổi qua lại bằng {@link #of(int, int)}.
+ */
+public final class Square {
+    public static final int NONE = -1;
+
+    private Square() {
+        throw new AssertionError("Cannot instantiate Square class");
+    }
+
+    public static int of(int x, int y) {
+        return ((7 - y) << 3) | x;
+    }
+
+    public static int x(int square) {
+        return square & 7;
+    }
+
+    public static int y(int square) {
+        return 7 - (square >>> 3);
+    }
+
+    public static int file(int square) {
+        return square & 7;
+    }
+
+    public static int rank(int square) {
+        return square >>> 3;
+    }
+
+    public static long bit(int square) {
+        return 1L << square;
+    }
+
+    public static String name(int square) {
+        return "" + (char) ('a' + file(square)) + (char) ('1' + rank(square));
+    }
+
+    public static int parse(String name) {
+        if (name.length() != 2) {
+            throw new IllegalArgumentException("Invalid square: " + name);
+        }
+        int file = name.charAt(0) - 'a';
+        int rank = name.charAt(1) - '1';
+        if (file < 0 || file > 7 || rank < 0 || rank > 7) {
+            throw new IllegalArgumentException("Invalid square: " + name);
+        }
+        return (rank << 3) | file;
+    }
+}
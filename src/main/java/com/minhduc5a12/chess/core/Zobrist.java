@@ -0,0 +1,61 @@
+package com.minhduc5a12.chess.core;
+
+/**
+ * Khóa Zobrist 64 bit: XOR các số ngẫu nhiên của từng quân trên từng ô, quyền nhập thành,
+ * cột bắt tốt qua đường và bên đi. {@link Position} cập nhật khóa từng phần khi đi và hoàn tác nước.
+ */
+public final class Zobrist {
+    private static final long[][] PIECE_SQUARE = new long[Piece.COUNT][64];
+    private static final long[] CASTLING = new long[16];
+    private static final long[] EN_PASSANT_FILE = new long[8];
+    private static final long SIDE;
+
+    // Seed cố định để khóa giống nhau ở mọi lần chạy
+    private static long seed = 0x6A09E667F3BCC909L;
+
+    static {
+        for (int piece = 0; piece < Piece.COUNT; piece++) {
+            for (int square = 0; square < 64; square++) {
+                PIECE_SQUARE[piece][square] = nextRandom();
+            }
+        }
+        // Không có quyền nhập thành thì không góp vào khóa
+        for (int rights = 1; rights < 16; rights++) {
+            CASTLING[rights] = nextRandom();
+        }
+        for (int file = 0; file < 8; file++) {
+            EN_PASSANT_FILE[file] = nextRandom();
+        }
+        SIDE = nextRandom();
+    }
+
+    private Zobrist() {
+        throw new AssertionError("Cannot instantiate Zobrist class");
+    }
+
+    public static long piece(int piece, int square) {
+        return PIECE_SQUARE[piece][square];
+    }
+
+    public static long castling(int rights) {
+        return CASTLING[rights];
+    }
+
+    /**
+     * @return 0 khi không có ô bắt tốt qua đường.
+     */
+    public static long enPassant(int square) {
+        return square == Square.NONE ? 0L : EN_PASSANT_FILE[Square.file(square)];
+    }
+
+    public static long side() {
+        return SIDE;
+    }
+
+    private static long nextRandom() {
+        seed ^= seed >>> 12;
+        seed ^= seed << 25;
+        seed ^= seed >>> 27;
+        return seed * 0x2545F4914F6CDD1DL;
+    }
+}
@@ -0,0 +1,10 @@
+package com.minhduc5a12.chess.engine;
+
+/**
+ * Nhận các dòng {@code info} của máy khi đang tìm. Được gọi trên luồng đọc của {@link UciClient},
+ * nên phải trả về nhanh; giao diện cần chuyển sang luồng Swing bằng {@code SwingUtilities.invokeLater}.
+ */
+@FunctionalInterface
+public interface AnalysisListener {
+    void onUpdate(AnalysisUpdate update);
+}
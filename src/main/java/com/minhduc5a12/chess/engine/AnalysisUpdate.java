@@ -0,0 +1,156 @@
+package com.minhduc5a12.chess.engine;
+
+import java.util.List;
+
+/**
+ * Một dòng {@code info} có điểm số của máy UCI. Điểm nhìn từ phía bên đi, như máy in ra.
+ * Trường máy không in thì bằng 0 (riêng {@code multiPv} mặc định 1).
+ *
+ * @param score Centipawn, hoặc số nước tới chiếu hết nếu {@code mate} (âm là bị chiếu hết).
+ * @param pv    Đường biến chính dạng UCI cách nhau bởi dấu cách, rỗng nếu không có.
+ */
+public record AnalysisUpdate(int depth, int selDepth, int multiPv, int score, boolean mate, Bound bound,
+                             long nodes, long nps, int hashfull, long timeMillis, String pv) {
+
+    public enum Bound {EXACT, LOWER, UPPER}
+
+    /**
+     * Đọc thẳng trên chuỗi, không tách token: mỗi dòng chỉ cấp phát đối tượng kết quả và chuỗi {@code pv}.
+     *
+     * @return {@code null} nếu không phải dòng {@code info} có điểm (ví dụ {@code info string}, {@code info currmove}).
+     */
+    public static AnalysisUpdate parse(String line) {
+        if (!line.startsWith("info ")) {
+            return null;
+        }
+        int depth = 0;
+        int selDepth = 0;
+        int multiPv = 1;
+        int score = 0;
+        boolean mate = false;
+        boolean hasScore = false;
+        Bound bound = Bound.EXACT;
+        long nodes = 0;
+        long nps = 0;
+        int hashfull = 0;
+        long time = 0;
+        String pv = "";
+
+        int length = line.length();
+        int pos = 4;
+        while (pos < length) {
+            int start = skipSpaces(line, pos);
+            int end = tokenEnd(line, start);
+            if (start == end) {
+                break;
+            }
+            pos = end;
+            if (is(line, start, end, "string")) {
+                return null;
+            } else if (is(line, start, end, "pv")) {
+                pv = line.substring(skipSpaces(line, end)).trim();
+                break;
+            } else if (is(line, start, end, "score")) {
+                int kindStart = skipSpaces(line, end);
+                int kindEnd = tokenEnd(line, kindStart);
+                mate = is(line, kindStart, kindEnd, "mate");
+                int valueStart = skipSpaces(line, kindEnd);
+                pos = tokenEnd(line, valueStart);
+                score = (int) number(line, valueStart, pos);
+                hasScore = true;
+            } else if (is(line, start, end, "lowerbound")) {
+                bound = Bound.LOWER;
+            } else if (is(line, start, end, "upperbound")) {
+                bound = Bound.UPPER;
+            } else if (isNumeric(line, start, end)) {
+                // Giá trị của một từ khóa không quan tâm, ví dụ wdl 10 980 10
+                continue;
+            } else {
+                int valueStart = skipSpaces(line, end);
+                int valueEnd = tokenEnd(line, valueStart);
+                if (!isNumeric(line, valueStart, valueEnd)) {
+                    continue;
+                }
+                long value = number(line, valueStart, valueEnd);
+                pos = valueEnd;
+                if (is(line, start, end, "depth")) {
+                    depth = (int) value;
+                } else if (is(line, start, end, "seldepth")) {
+                    selDepth = (int) value;
+                } else if (is(line, start, end, "multipv")) {
+                    multiPv = (int) value;
+                } else if (is(line, start, end, "nodes")) {
+                    nodes = value;
+                } else if (is(line, start, end, "nps")) {
+                    nps = value;
+                } else if (is(line, start, end, "hashfull")) {
+                    hashfull = (int) value;
+                } else if (is(line, start, end, "time")) {
+                    time = value;
+                }
+            }
+        }
+        return hasScore ? new AnalysisUpdate(depth, selDepth, multiPv, score, mate, bound, nodes, nps, hashfull, time, pv) : null;
+    }
+
+    public List<String> pvMoves() {
+        return pv.isEmpty() ? List.of() : List.of(pv.split(" +"));
+    }
+
+    /**
+     * @return Nước đầu của đường biến chính, {@code null} nếu không có.
+     */
+    public String firstMove() {
+        if (pv.isEmpty()) {
+            return null;
+        }
+        int space = pv.indexOf(' ');
+        return space < 0 ? pv : pv.substring(0, space);
+    }
+
+    private static int skipSpaces(String line, int pos) {
+        while (pos < line.length() && line.charAt(pos) == ' ') {
+            pos++;
+        }
+        return pos;
+    }
+
+    private static int tokenEnd(String line, int pos) {
+        while (pos < line.length() && line.charAt(pos) != ' ') {
+            pos++;
+        }
+        return pos;
+    }
+
+    private static boolean is(String line, int start, int end, String word) {
+        return end - start == word.length() && line.startsWith(word, start);
+    }
+
+    private static boolean isNumeric(String line, int start, int end) {
+        if (start < end && line.charAt(start) == '-') {
+            start++;
+        }
+        if (start == end) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            if (line.charAt(i) < '0' || line.charAt(i) > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long number(String line, int start, int end) {
+        boolean negative = start < end && line.charAt(start) == '-';
+        long value = 0;
+        for (int i = negative ? start + 1 : start; i < end; i++) {
+            char c = line.charAt(i);
+            if (c < '0' || c > '9') {
+                throw new IllegalArgumentException("Invalid number in engine output: " + line);
+            }
+            value = value * 10 + (c - '0');
+        }
+        return negative ? -value : value;
+    }
+}
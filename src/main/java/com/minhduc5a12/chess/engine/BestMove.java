@@ -0,0 +1,27 @@
+package com.minhduc5a12.chess.engine;
+
+/**
+ * Kết quả dòng {@code bestmove} của máy UCI.
+ *
+ * @param move   Nước đi dạng UCI, {@code null} khi máy trả về {@code (none)}.
+ * @param ponder Nước máy đoán đối thủ sẽ đi, {@code null} nếu không có.
+ */
+public record BestMove(String move, String ponder) {
+
+    /**
+     * Đọc dòng {@code bestmove <move> [ponder <move>]}.
+     */
+    public static BestMove parse(String line) {
+        String[] tokens = line.trim().split("\\s+");
+        if (tokens.length < 2 || !tokens[0].equals("bestmove")) {
+            throw new IllegalArgumentException("Not a bestmove line: " + line);
+        }
+        String move = tokens[1].equals("(none)") ? null : tokens[1];
+        String ponder = tokens.length >= 4 && tokens[2].equals("ponder") ? tokens[3] : null;
+        return new BestMove(move, ponder);
+    }
+
+    public boolean isNone() {
+        return move == null;
+    }
+}
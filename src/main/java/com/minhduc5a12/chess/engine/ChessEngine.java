@@ -0,0 +1,42 @@
+package com.minhduc5a12.chess.engine;
+
+import com.minhduc5a12.chess.core.Position;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Nguồn nước đi cho máy: tiến trình UCI bên ngoài ({@link Stockfish})
+ * hoặc bộ tìm kiếm chạy ngay trong JVM ({@link com.minhduc5a12.chess.engine.search.SearchEngine}).
+ */
+public interface ChessEngine {
+    /**
+     * @param position Thế cờ cần tìm nước; nơi gọi không được sửa nó trong lúc tìm.
+     * @return Nước đi tốt nhất dạng UCI (ví dụ {@code e7e5}, {@code a2a1q}), hoặc {@code null} nếu không có.
+     */
+    String bestMove(Position position);
+
+    /**
+     * Tìm nước mà không chặn luồng gọi. Mặc định chạy {@link #bestMove} trên {@code executor} và bỏ qua đồng hồ;
+     * máy tự có luồng riêng (như {@link Stockfish}) thì trả về future của chính nó.
+     *
+     * @param clock Đồng hồ hai bên để chia thời gian, {@code null} nếu ván không tính giờ.
+     */
+    default CompletableFuture<String> bestMoveAsync(Position position, EngineClock clock, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> bestMove(position), executor);
+    }
+
+    /**
+     * Dừng lần tìm đang chạy (nếu có); lần tìm đó trả về nước tốt nhất đã tìm được.
+     */
+    default void stop() {
+    }
+
+    /**
+     * Đăng ký nhận thông tin phân tích trong lúc tìm; máy không hỗ trợ thì bỏ qua.
+     */
+    default void addAnalysisListener(AnalysisListener listener) {
+    }
+
+    void close();
+}
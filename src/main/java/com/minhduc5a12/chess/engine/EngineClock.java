@@ -0,0 +1,29 @@
+package com.minhduc5a12.chess.engine;
+
+import com.minhduc5a12.chess.core.Piece;
+
+/**
+ * Đồng hồ của hai bên tại lúc máy bắt đầu nghĩ, theo mili giây.
+ *
+ * @param movesToGo Số nước tới lần cộng giờ tiếp theo, 0 nếu đánh hết giờ.
+ */
+public record EngineClock(long whiteMillis, long blackMillis, long whiteIncrementMillis, long blackIncrementMillis,
+                          int movesToGo) {
+
+    public long remainingMillis(int color) {
+        return color == Piece.WHITE ? whiteMillis : blackMillis;
+    }
+
+    public long incrementMillis(int color) {
+        return color == Piece.WHITE ? whiteIncrementMillis : blackIncrementMillis;
+    }
+
+    /**
+     * @return Phần tham số đồng hồ của lệnh {@code go}, ví dụ {@code wtime 60000 btime 59000 winc 0 binc 0}.
+     */
+    public String toUci() {
+        String command = "wtime " + whiteMillis + " btime " + blackMillis
+                + " winc " + whiteIncrementMillis + " binc " + blackIncrementMillis;
+        return movesToGo > 0 ? command + " movestogo " + movesToGo : command;
+    }
+}
@@ -0,0 +1,289 @@
+package com.minhduc5a12.chess.engine;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Nhóm tiến trình máy UCI đã bắt tay xong ({@code uci}/{@code isready}), dùng chung cho nhiều ván trong một JVM.
+ * Mỗi lần tìm mượn một máy rồi trả về nhóm khi xong. Máy được đặt lại bằng {@code ucinewgame} khi chuyển
+ * sang ván khác; cùng một ván thì ưu tiên mượn lại đúng máy cũ và giữ nguyên bảng băm của nó.
+ * Tùy chọn ({@code setoption}) chỉ được gửi khi khác với giá trị máy đang dùng, vì đổi {@code Hash}
+ * sẽ xóa bảng băm.
+ * Tiến trình được khởi động ngầm ngay khi tạo nhóm, nên luồng tạo nhóm không phải chờ;
+ * máy chết được thay bằng tiến trình mới ở lần mượn sau.
+ */
+public class EnginePool implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(EnginePool.class);
+    private static final long WARM_UP_TIMEOUT_SECONDS = 10;
+    private static final long READY_TIMEOUT_SECONDS = 5;
+
+    /**
+     * Khởi động một tiến trình máy mới, chưa bắt tay.
+     */
+    @FunctionalInterface
+    public interface Launcher {
+        UciClient launch() throws IOException;
+    }
+
+    private final int size;
+    private final Launcher launcher;
+    private final BlockingQueue<Slot> idle = new LinkedBlockingQueue<>();
+    // Số máy còn sống hoặc đang khởi động, kể cả máy đang được mượn
+    private final AtomicInteger live = new AtomicInteger();
+    private final AtomicInteger leased = new AtomicInteger();
+    private final LongAdder leases = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final LongAdder busyNanos = new LongAdder();
+    private final long createdNanos = System.nanoTime();
+    private volatile boolean closed;
+
+    public EnginePool(int size, Launcher launcher) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Engine pool size must be at least 1: " + size);
+        }
+        this.size = size;
+        this.launcher = launcher;
+        for (int i = 0; i < size; i++) {
+            live.incrementAndGet();
+            warmUp();
+        }
+    }
+
+    /**
+     * Mượn một máy, chờ tới khi có máy rảnh.
+     */
+    public Lease lease() throws InterruptedException {
+        try {
+            return lease(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new AssertionError("Unbounded lease timed out", e);
+        }
+    }
+
+    /**
+     * Mượn một máy đã được đặt lại cho ván mới.
+     *
+     * @throws TimeoutException Không có máy rảnh trong thời gian cho phép.
+     */
+    public Lease lease(long timeout, TimeUnit unit) throws InterruptedException, TimeoutException {
+        return lease(null, Map.of(), timeout, unit);
+    }
+
+    /**
+     * Mượn một máy cho ván {@code owner} với các tùy chọn UCI cho trước.
+     *
+     * @param owner   Đối tượng đại diện cho ván; {@code null} thì luôn gửi {@code ucinewgame}.
+     * @param options Tên và giá trị tùy chọn, ví dụ {@code Hash -> 64}.
+     * @throws TimeoutException Không có máy rảnh trong thời gian cho phép.
+     */
+    public Lease lease(Object owner, Map<String, String> options, long timeout, TimeUnit unit)
+            throws InterruptedException, TimeoutException {
+        long start = System.nanoTime();
+        long timeoutNanos = unit.toNanos(timeout);
+        while (true) {
+            if (closed) {
+                throw new IllegalStateException("Engine pool is closed");
+            }
+            replaceDeadEngines();
+            if (live.get() == 0) {
+                throw new IllegalStateException("No engine process could be started");
+            }
+            Slot slot = takeOwnedBy(owner);
+            if (slot == null) {
+                slot = idle.poll(timeoutNanos - (System.nanoTime() - start), TimeUnit.NANOSECONDS);
+            }
+            if (slot == null) {
+                throw new TimeoutException("No engine available after " + timeout + " " + unit);
+            }
+            if (prepare(slot, owner, options)) {
+                long waited = System.nanoTime() - start;
+                waitNanos.add(waited);
+                maxWaitNanos.accumulateAndGet(waited, Math::max);
+                leases.increment();
+                leased.incrementAndGet();
+                return new Lease(slot);
+            }
+            discard(slot.client);
+        }
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getLeased() {
+        return leased.get();
+    }
+
+    public long getTotalLeases() {
+        return leases.sum();
+    }
+
+    public double getAverageWaitMillis() {
+        long count = leases.sum();
+        return count == 0 ? 0.0 : waitNanos.sum() / 1e6 / count;
+    }
+
+    public double getMaxWaitMillis() {
+        return maxWaitNanos.get() / 1e6;
+    }
+
+    /**
+     * @return Tỉ lệ thời gian các máy bị mượn (tính các lần mượn đã trả) trên tổng thời gian sống của nhóm.
+     */
+    public double getUtilization() {
+        long elapsed = System.nanoTime() - createdNanos;
+        return elapsed == 0 ? 0.0 : (double) busyNanos.sum() / ((double) elapsed * size);
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        Slot slot;
+        while ((slot = idle.poll()) != null) {
+            slot.client.close();
+        }
+    }
+
+    // Gọi khi đã tính máy này vào live; trả về false nếu không chạy được tiến trình
+    private boolean warmUp() {
+        UciClient client;
+        try {
+            client = launcher.launch();
+        } catch (IOException e) {
+            live.decrementAndGet();
+            logger.error("Failed to launch engine process", e);
+            return false;
+        }
+        client.uci()
+                .thenCompose(ignored -> client.isReady())
+                .orTimeout(WARM_UP_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .whenComplete((ignored, error) -> {
+                    if (error != null) {
+                        logger.error("Engine process failed to start", error);
+                        discard(client);
+                    } else if (closed) {
+                        client.close();
+                    } else {
+                        idle.add(new Slot(client));
+                    }
+                });
+        return true;
+    }
+
+    // Dừng ở lần chạy hỏng đầu tiên, để file máy hỏng không làm lease() quay vòng mãi
+    private void replaceDeadEngines() {
+        int count;
+        while ((count = live.get()) < size) {
+            if (live.compareAndSet(count, count + 1) && !warmUp()) {
+                return;
+            }
+        }
+    }
+
+    // Máy rảnh mà ván này dùng lần trước, null nếu không có
+    private Slot takeOwnedBy(Object owner) {
+        if (owner == null) {
+            return null;
+        }
+        for (Slot slot : idle) {
+            if (slot.owner == owner && idle.remove(slot)) {
+                return slot;
+            }
+        }
+        return null;
+    }
+
+    private static boolean prepare(Slot slot, Object owner, Map<String, String> options) throws InterruptedException {
+        UciClient client = slot.client;
+        if (!client.isAlive()) {
+            return false;
+        }
+        for (Map.Entry<String, String> option : options.entrySet()) {
+            if (!option.getValue().equals(slot.options.get(option.getKey()))) {
+                client.sendCommand("setoption name " + option.getKey() + " value " + option.getValue());
+                slot.options.put(option.getKey(), option.getValue());
+            }
+        }
+        if (owner == null || slot.owner != owner) {
+            client.sendCommand("ucinewgame");
+            slot.owner = owner;
+        }
+        try {
+            client.isReady().get(READY_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            return true;
+        } catch (ExecutionException | TimeoutException e) {
+            logger.warn("Engine did not answer isready, replacing it", e);
+            return false;
+        }
+    }
+
+    private void discard(UciClient client) {
+        client.close();
+        live.decrementAndGet();
+    }
+
+    private void release(Lease lease) {
+        busyNanos.add(System.nanoTime() - lease.start);
+        leased.decrementAndGet();
+        // Máy còn đang tìm thì không biết khi nào bestmove về, bỏ luôn cho chắc
+        UciClient client = lease.slot.client;
+        if (!closed && client.isAlive() && !client.isSearching()) {
+            idle.add(lease.slot);
+        } else {
+            discard(client);
+        }
+    }
+
+    /**
+     * Một tiến trình trong nhóm cùng trạng thái đã gửi cho nó: ván dùng gần nhất và các tùy chọn.
+     * Chỉ luồng đang mượn mới đọc ghi.
+     */
+    private static final class Slot {
+        private final UciClient client;
+        private final Map<String, String> options = new HashMap<>();
+        private Object owner;
+
+        private Slot(UciClient client) {
+            this.client = client;
+        }
+    }
+
+    /**
+     * Một máy đang được mượn; {@link #close()} trả nó về nhóm.
+     */
+    public final class Lease implements AutoCloseable {
+        private final Slot slot;
+        private final long start = System.nanoTime();
+        private boolean released;
+
+        private Lease(Slot slot) {
+            this.slot = slot;
+        }
+
+        public UciClient client() {
+            return slot.client;
+        }
+
+        @Override
+        public synchronized void close() {
+            if (!released) {
+                released = true;
+                release(this);
+            }
+        }
+    }
+}
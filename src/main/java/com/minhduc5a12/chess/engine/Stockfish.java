@@ -1,115 +1,210 @@
 package com.minhduc5a12.chess.engine;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
-import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
-import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-
-import javax.swing.SwingUtilities;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.minhduc5a12.chess.GameController;
-import com.minhduc5a12.chess.constants.PieceColor;
+import com.minhduc5a12.chess.core.Moves;
+import com.minhduc5a12.chess.core.Position;
 
-public class Stockfish {
+/**
+ * Máy Stockfish chạy ngoài tiến trình. Mỗi lần tìm mượn một tiến trình từ {@link EnginePool},
+ * nên nhiều ván trong cùng JVM dùng chung vài tiến trình đã khởi động sẵn. Mỗi đối tượng là một ván:
+ * thế cờ được gửi dạng {@code position startpos moves ...} để máy thấy lịch sử ván (phát hiện lặp lại)
+ * và dùng lại bảng băm khi mượn lại đúng tiến trình lần trước.
+ */
+public class Stockfish implements ChessEngine {
     private static final Logger logger = LoggerFactory.getLogger(Stockfish.class);
-    private Process stockfishProcess;
-    private BufferedReader reader;
-    private BufferedWriter writer;
+    private static final long LEASE_TIMEOUT_SECONDS = 30;
+    private static EnginePool sharedPool;
+    private final EnginePool pool;
+    private final TimePolicy policy;
+    private final Map<String, String> options;
+    private final List<AnalysisListener> listeners = new CopyOnWriteArrayList<>();
+    // Dòng info cuối của lần tìm gần nhất, để ghi log tốc độ máy
+    private volatile AnalysisUpdate lastUpdate;
+    // Máy đang tìm cho đối tượng này, để stop() gửi được lệnh dừng
+    private volatile UciClient active;
 
     public Stockfish() {
-        startEngine();
+        this(sharedPool(), TimePolicy.clock(), defaultOptions());
     }
 
-    private void startEngine() {
-        try {
-            String os = System.getProperty("os.name").toLowerCase();
-            String stockfishFile = os.contains("win") ? "stockfish.exe" : "stockfish";
-            String stockfishPath = Objects.requireNonNull(getClass().getClassLoader().getResource(stockfishFile)).getPath();
-            ProcessBuilder pb = new ProcessBuilder(stockfishPath);
-            pb.redirectErrorStream(true);
-            stockfishProcess = pb.start();
-
-            reader = new BufferedReader(new InputStreamReader(stockfishProcess.getInputStream()));
-            writer = new BufferedWriter(new OutputStreamWriter(stockfishProcess.getOutputStream()));
-
-            sendCommand("uci");
-            String line;
-            while ((line = reader.readLine()) != null) {
-                if (line.contains("uciok")) break;
-            }
-        } catch (IOException e) {
-            logger.error("Failed to start Stockfish", e);
-        }
+    /**
+     * @param options Tùy chọn UCI gửi bằng {@code setoption} mỗi khi mượn máy (nếu máy chưa có đúng giá trị đó).
+     */
+    public Stockfish(EnginePool pool, TimePolicy policy, Map<String, String> options) {
+        this.pool = pool;
+        this.policy = policy;
+        this.options = Map.copyOf(options);
     }
 
-    public void sendCommand(String command) {
-        try {
-            writer.write(command + "\n");
-            writer.flush();
-        } catch (IOException e) {
-            logger.error("Failed to send command to Stockfish: {}", command, e);
-        }
+    /**
+     * Tùy chọn lấy từ thuộc tính {@code chess.engineHash} (MB, mặc định 16), {@code chess.engineThreads}
+     * (mặc định 1) và {@code chess.multiPv} (mặc định 1).
+     */
+    public static Map<String, String> defaultOptions() {
+        Map<String, String> options = new LinkedHashMap<>();
+        options.put("Hash", String.valueOf(Integer.getInteger("chess.engineHash", 16)));
+        options.put("Threads", String.valueOf(Integer.getInteger("chess.engineThreads", 1)));
+        options.put("MultiPV", String.valueOf(Integer.getInteger("chess.multiPv", 1)));
+        return options;
     }
 
-    public List<String> getOutput() {
-        List<String> output = new ArrayList<>();
-        try {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                output.add(line);
-                if (line.contains("bestmove")) break;
+    /**
+     * Lệnh {@code position} dựng từ FEN gốc của ván và các nước đã đi trên ngăn xếp của {@code position}.
+     */
+    public static String positionCommand(Position position) {
+        Position root = new Position(position);
+        while (root.getPly() > 0) {
+            root.unmakeMove();
+        }
+        String rootFen = root.toFen();
+        StringBuilder command = new StringBuilder(rootFen.equals(Position.START_FEN)
+                ? "position startpos" : "position fen " + rootFen);
+        if (position.getPly() > 0) {
+            command.append(" moves");
+            for (int i = 0; i < position.getPly(); i++) {
+                command.append(' ').append(Moves.toUci(position.moveAt(i)));
             }
-        } catch (IOException e) {
-            logger.error("Error reading Stockfish output", e);
         }
-        return output;
+        return command.toString();
     }
 
-    public void makeMove(GameController gameController) {
-        if (gameController.isGameEnded() || gameController.getCurrentPlayerColor() != PieceColor.BLACK) {
-            return;
+    /**
+     * @return Có file Stockfish cho hệ điều hành hiện tại trong classpath hay không.
+     */
+    public static boolean isAvailable() {
+        return Stockfish.class.getClassLoader().getResource(binaryName()) != null;
+    }
+
+    /**
+     * Nhóm tiến trình dùng chung, tạo ở lần gọi đầu với số tiến trình lấy từ {@code chess.enginePool}
+     * (mặc định 2) và được đóng khi JVM thoát.
+     */
+    public static synchronized EnginePool sharedPool() {
+        if (sharedPool == null) {
+            String stockfishPath = Objects.requireNonNull(Stockfish.class.getClassLoader().getResource(binaryName())).getPath();
+            sharedPool = new EnginePool(Integer.getInteger("chess.enginePool", 2), () -> UciClient.start(stockfishPath));
+            Runtime.getRuntime().addShutdownHook(new Thread(sharedPool::close, "engine-pool-shutdown"));
         }
+        return sharedPool;
+    }
+
+    private static String binaryName() {
+        String os = System.getProperty("os.name").toLowerCase();
+        return os.contains("win") ? "stockfish.exe" : "stockfish";
+    }
+
+    /**
+     * Mượn máy trên {@code executor} rồi tìm mà không chặn luồng gọi. Máy được trả về nhóm
+     * khi dòng {@code bestmove} đã về, kể cả sau {@link #stop()}. Quá hạn cứng của {@link TimePolicy}
+     * mà máy chưa trả lời thì gửi {@code stop}.
+     */
+    public CompletableFuture<BestMove> search(Position position, EngineClock clock, Executor executor) {
+        String positionCommand = positionCommand(position);
+        String goCommand = policy.goCommand(clock);
+        long limitMillis = policy.hardLimitMillis(clock, position.getSideToMove());
+        return CompletableFuture.supplyAsync(this::lease, executor).thenCompose(lease -> {
+            UciClient client = lease.client();
+            active = client;
+            lastUpdate = null;
+            AnalysisListener forward = this::publish;
+            client.addAnalysisListener(forward);
+            CompletableFuture<BestMove> search = client.search(positionCommand, goCommand);
+            if (limitMillis > 0) {
+                CompletableFuture.delayedExecutor(limitMillis, TimeUnit.MILLISECONDS).execute(() -> {
+                    if (!search.isDone()) {
+                        logger.warn("Stockfish exceeded its {} ms budget, sending stop", limitMillis);
+                        client.stop();
+                    }
+                });
+            }
+            return search.whenComplete((move, error) -> {
+                client.removeAnalysisListener(forward);
+                active = null;
+                lease.close();
+            });
+        });
+    }
 
-        String fen = gameController.getNotationUtils().getFen();
-        sendCommand("position fen " + fen);
-        sendCommand("go depth 25");
-        List<String> output = getOutput();
-        String bestMove = null;
-        for (String line : output) {
-            if (line.startsWith("bestmove")) {
-                bestMove = line.split(" ")[1];
-                logger.info("Stockfish best move for Black: {}", bestMove);
-                break;
+    @Override
+    public CompletableFuture<String> bestMoveAsync(Position position, EngineClock clock, Executor executor) {
+        return search(position, clock, executor).thenApply(bestMove -> {
+            AnalysisUpdate last = lastUpdate;
+            if (last != null) {
+                logger.info("Stockfish search: depth {}/{} score {}{} nodes {} nps {} hashfull {} in {} ms",
+                        last.depth(), last.selDepth(), last.mate() ? "mate " : "cp ", last.score(),
+                        last.nodes(), last.nps(), last.hashfull(), last.timeMillis());
             }
+            logger.info("Stockfish best move: {} (pool utilization {}, average wait {} ms)",
+                    bestMove.isNone() ? "(none)" : bestMove.move(), String.format("%.2f", pool.getUtilization()),
+                    String.format("%.1f", pool.getAverageWaitMillis()));
+            return bestMove.move();
+        });
+    }
+
+    @Override
+    public String bestMove(Position position) {
+        try {
+            return bestMoveAsync(position, null, Runnable::run).join();
+        } catch (CompletionException | CancellationException e) {
+            logger.error("Stockfish search failed", e);
+            return null;
         }
+    }
+
+    @Override
+    public void addAnalysisListener(AnalysisListener listener) {
+        listeners.add(listener);
+    }
 
-        if (bestMove != null && bestMove.length() >= 4) {
-            int startX = bestMove.charAt(0) - 'a';
-            int startY = 7 - (bestMove.charAt(1) - '1');
-            int endX = bestMove.charAt(2) - 'a';
-            int endY = 7 - (bestMove.charAt(3) - '1');
-            String promotion = (bestMove.length() > 4) ? bestMove.substring(4) : null;
-            SwingUtilities.invokeLater(() -> gameController.makeMove(startX, startY, endX, endY, promotion));
+    public void removeAnalysisListener(AnalysisListener listener) {
+        listeners.remove(listener);
+    }
+
+    @Override
+    public void stop() {
+        UciClient client = active;
+        if (client != null) {
+            client.stop();
         }
     }
 
+    /**
+     * Tiến trình thuộc về nhóm nên không bị tắt ở đây, chỉ dừng lần tìm đang chạy.
+     */
+    @Override
     public void close() {
-        sendCommand("quit");
+        stop();
+    }
+
+    private void publish(AnalysisUpdate update) {
+        lastUpdate = update;
+        for (AnalysisListener listener : listeners) {
+            listener.onUpdate(update);
+        }
+    }
+
+    private EnginePool.Lease lease() {
         try {
-            if (stockfishProcess != null) {
-                stockfishProcess.waitFor();
-            }
-            if (reader != null) reader.close();
-            if (writer != null) writer.close();
-        } catch (InterruptedException | IOException e) {
-            logger.error("Error closing Stockfish", e);
+            return pool.lease(this, options, LEASE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        } catch (TimeoutException e) {
+            throw new CompletionException(e);
         }
     }
-}
\ No newline at end of file
+}
@@ -1,25 +1,124 @@
 package com.minhduc5a12.chess.engine;
 
 import com.minhduc5a12.chess.GameController;
+import com.minhduc5a12.chess.constants.PieceColor;
+import com.minhduc5a12.chess.core.Position;
+import com.minhduc5a12.chess.engine.book.BookEngine;
+import com.minhduc5a12.chess.engine.book.PolyglotBook;
+import com.minhduc5a12.chess.engine.book.PolyglotKey;
+import com.minhduc5a12.chess.engine.search.SearchEngine;
+import com.minhduc5a12.chess.engine.search.Searcher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.swing.SwingUtilities;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 public class StockfishPlayer {
     private static final Logger logger = LoggerFactory.getLogger(StockfishPlayer.class);
-    private final Stockfish stockfish;
+    // Máy nội bộ tìm trên luồng ảo thay vì tạo một luồng nền mới cho mỗi nước
+    private static final ExecutorService ENGINE_TASKS = Executors.newVirtualThreadPerTaskExecutor();
+    private final ChessEngine engine;
     private final GameController gameController;
+    // Chỉ đọc ghi trên luồng Swing
+    private CompletableFuture<String> pendingMove = CompletableFuture.completedFuture(null);
 
     public StockfishPlayer(GameController gameController) {
-        this.stockfish = new Stockfish();
+        this.engine = withBook(createEngine(TimePolicy.parse(System.getProperty("chess.timePolicy", "clock"))));
         this.gameController = gameController;
     }
 
+    /**
+     * Chọn máy theo thuộc tính {@code chess.engine} ({@code stockfish} hoặc {@code builtin}).
+     * Mặc định dùng Stockfish nếu có file cho hệ điều hành hiện tại, không thì dùng máy tìm kiếm nội bộ
+     * với số luồng lấy từ {@code chess.threads} (mặc định bằng số nhân CPU).
+     * Thời gian nghĩ mỗi nước theo {@code chess.timePolicy} (xem {@link TimePolicy#parse}), mặc định chia theo đồng hồ.
+     */
+    private static ChessEngine createEngine(TimePolicy policy) {
+        String choice = System.getProperty("chess.engine", "auto");
+        logger.info("Engine time policy: {}", policy);
+        if (!choice.equals("builtin") && Stockfish.isAvailable()) {
+            return new Stockfish(Stockfish.sharedPool(), policy, Stockfish.defaultOptions());
+        }
+        logger.info("Using built-in search engine");
+        int threads = Integer.getInteger("chess.threads", Runtime.getRuntime().availableProcessors());
+        return new SearchEngine(policy, Searcher.DEFAULT_HASH_MB, threads);
+    }
+
+    /**
+     * Nếu có thuộc tính {@code chess.book} trỏ tới file Polyglot {@code .bin} thì tra sách trước khi hỏi máy.
+     */
+    private static ChessEngine withBook(ChessEngine engine) {
+        String bookPath = System.getProperty("chess.book");
+        if (bookPath == null) {
+            return engine;
+        }
+        try {
+            PolyglotBook book = new PolyglotBook(Path.of(bookPath), PolyglotKey.standard());
+            logger.info("Loaded opening book {} ({} entries)", bookPath, book.size());
+            return new BookEngine(book, engine);
+        } catch (IOException e) {
+            logger.error("Cannot open opening book {}", bookPath, e);
+            return engine;
+        }
+    }
+
+    /**
+     * Gửi yêu cầu tìm nước cho bên đen và trả về ngay; nước tìm được sẽ được đi trên luồng Swing.
+     */
     public void makeMove() {
+        if (gameController.isGameEnded() || gameController.getCurrentPlayerColor() != PieceColor.BLACK) {
+            return;
+        }
+        if (!pendingMove.isDone()) {
+            logger.warn("Engine is still searching, ignoring move request");
+            return;
+        }
         logger.info("StockfishPlayer initiating move for Black");
-        stockfish.makeMove(gameController);
+        CompletableFuture<String> request = engine.bestMoveAsync(new Position(gameController.getPosition()),
+                gameController.getClock(), ENGINE_TASKS);
+        pendingMove = request;
+        request.whenComplete((bestMove, error) -> {
+            if (error != null) {
+                if (!(error instanceof CancellationException)) {
+                    logger.error("Engine search failed", error instanceof CompletionException ? error.getCause() : error);
+                }
+                return;
+            }
+            if (bestMove != null && bestMove.length() >= 4) {
+                SwingUtilities.invokeLater(() -> playMove(bestMove));
+            }
+        });
+    }
+
+    /**
+     * Hủy lần tìm đang chạy, ví dụ khi ván cờ kết thúc; nước của lần tìm đó sẽ không được đi.
+     */
+    public void cancel() {
+        if (!pendingMove.isDone()) {
+            pendingMove.cancel(true);
+            engine.stop();
+            logger.info("Cancelled engine search");
+        }
+    }
+
+    private void playMove(String bestMove) {
+        int startX = bestMove.charAt(0) - 'a';
+        int startY = 7 - (bestMove.charAt(1) - '1');
+        int endX = bestMove.charAt(2) - 'a';
+        int endY = 7 - (bestMove.charAt(3) - '1');
+        String promotion = (bestMove.length() > 4) ? bestMove.substring(4) : null;
+        gameController.makeMove(startX, startY, endX, endY, promotion);
     }
 
     public void close() {
-        stockfish.close();
+        cancel();
+        engine.close();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,123 @@
+package com.minhduc5a12.chess.engine;
+
+import com.minhduc5a12.chess.engine.search.SearchLimits;
+
+/**
+ * Cách chia thời gian cho một nước của máy: thời gian cố định, giới hạn độ sâu, giới hạn số nút
+ * hoặc tự chia theo đồng hồ. Trừ kiểu thời gian cố định, khi có đồng hồ thì nước đi luôn bị chặn
+ * bởi một hạn cứng tính từ thời gian còn lại, để độ trễ mỗi nước không vượt quá đồng hồ.
+ */
+public final class TimePolicy {
+    public enum Kind {MOVE_TIME, DEPTH, NODES, CLOCK}
+
+    // Chưa biết còn bao nhiêu nước thì coi như phải đi ngần này nước nữa mới hết giờ
+    private static final int DEFAULT_MOVES_TO_GO = 40;
+    // Bù độ trễ đường ống và luồng giao diện
+    private static final long OVERHEAD_MILLIS = 50;
+    private static final long MIN_MOVE_MILLIS = 10;
+    // Dùng khi chính sách theo đồng hồ mà ván không có đồng hồ
+    private static final long FALLBACK_MOVE_MILLIS = 2000;
+
+    private final Kind kind;
+    private final long value;
+
+    private TimePolicy(Kind kind, long value) {
+        if (kind != Kind.CLOCK && value <= 0) {
+            throw new IllegalArgumentException("Time policy " + kind + " needs a positive value: " + value);
+        }
+        this.kind = kind;
+        this.value = value;
+    }
+
+    public static TimePolicy moveTime(long millis) {
+        return new TimePolicy(Kind.MOVE_TIME, millis);
+    }
+
+    public static TimePolicy depth(int depth) {
+        return new TimePolicy(Kind.DEPTH, depth);
+    }
+
+    public static TimePolicy nodes(long nodes) {
+        return new TimePolicy(Kind.NODES, nodes);
+    }
+
+    public static TimePolicy clock() {
+        return new TimePolicy(Kind.CLOCK, 0);
+    }
+
+    /**
+     * Đọc cấu hình dạng {@code clock}, {@code movetime:2000}, {@code depth:20} hoặc {@code nodes:1000000}.
+     */
+    public static TimePolicy parse(String spec) {
+        String[] parts = spec.trim().split(":", 2);
+        try {
+            return switch (parts[0]) {
+                case "clock" -> clock();
+                case "movetime" -> moveTime(Long.parseLong(parts[1]));
+                case "depth" -> depth(Integer.parseInt(parts[1]));
+                case "nodes" -> nodes(Long.parseLong(parts[1]));
+                default -> throw new IllegalArgumentException("Unknown time policy: " + spec);
+            };
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid time policy: " + spec, e);
+        }
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * @param clock Đồng hồ hiện tại, {@code null} nếu ván không tính giờ.
+     * @return Lệnh {@code go} gửi cho máy UCI.
+     */
+    public String goCommand(EngineClock clock) {
+        String timing = clock == null ? "" : " " + clock.toUci();
+        return switch (kind) {
+            case MOVE_TIME -> "go movetime " + value;
+            case DEPTH -> "go depth " + value + timing;
+            case NODES -> "go nodes " + value + timing;
+            case CLOCK -> clock == null ? "go movetime " + FALLBACK_MOVE_MILLIS : "go" + timing;
+        };
+    }
+
+    /**
+     * @return Hạn cứng (mili giây) để gửi {@code stop} nếu máy chưa trả lời, 0 nếu không có hạn.
+     */
+    public long hardLimitMillis(EngineClock clock, int color) {
+        if (kind == Kind.MOVE_TIME) {
+            return value + OVERHEAD_MILLIS;
+        }
+        if (clock == null) {
+            return kind == Kind.CLOCK ? FALLBACK_MOVE_MILLIS + OVERHEAD_MILLIS : 0;
+        }
+        long remaining = clock.remainingMillis(color);
+        return Math.max(MIN_MOVE_MILLIS, Math.min(3 * allocate(clock, color), remaining / 2 - OVERHEAD_MILLIS));
+    }
+
+    /**
+     * Giới hạn tương ứng cho máy tìm kiếm nội bộ; máy này tự dừng đúng hạn nên chỉ cần một mốc thời gian.
+     */
+    public SearchLimits toSearchLimits(EngineClock clock, int color) {
+        long limit = hardLimitMillis(clock, color);
+        return switch (kind) {
+            case MOVE_TIME -> SearchLimits.ofTime(value);
+            case DEPTH -> new SearchLimits((int) value, limit, 0);
+            case NODES -> new SearchLimits(0, limit, value);
+            case CLOCK -> SearchLimits.ofTime(clock == null ? FALLBACK_MOVE_MILLIS : allocate(clock, color));
+        };
+    }
+
+    // Chia đều thời gian còn lại cho số nước còn phải đi, cộng phần lớn thời gian được cộng thêm
+    private static long allocate(EngineClock clock, int color) {
+        int movesToGo = clock.movesToGo() > 0 ? clock.movesToGo() : DEFAULT_MOVES_TO_GO;
+        long remaining = clock.remainingMillis(color);
+        long share = remaining / movesToGo + clock.incrementMillis(color) * 3 / 4;
+        return Math.max(MIN_MOVE_MILLIS, Math.min(share, remaining / 2) - OVERHEAD_MILLIS);
+    }
+
+    @Override
+    public String toString() {
+        return kind == Kind.CLOCK ? "clock" : kind.name().toLowerCase().replace("_", "") + ":" + value;
+    }
+}
@@ -0,0 +1,280 @@
+package com.minhduc5a12.chess.engine;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client UCI không chặn luồng gọi: một luồng đọc duy nhất nhận mọi dòng máy in ra
+ * và hoàn thành future đang chờ tương ứng ({@code uciok}, {@code readyok}, {@code bestmove}).
+ * Mỗi lúc chỉ có một lần tìm trên đường ống; hủy future của lần tìm sẽ gửi {@code stop} ngay,
+ * và máy chỉ được coi là rảnh khi dòng {@code bestmove} của lần tìm đó đã về.
+ * Dòng {@code info} có điểm được đọc thành {@link AnalysisUpdate} và phát cho các {@link AnalysisListener}.
+ */
+public class UciClient implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(UciClient.class);
+    private static final long QUIT_TIMEOUT_MILLIS = 1000;
+
+    private final Process process;
+    private final BufferedWriter writer;
+    private final Object lock = new Object();
+    private final CompletableFuture<Void> handshake = new CompletableFuture<>();
+    private final Queue<CompletableFuture<Void>> readyRequests = new ArrayDeque<>();
+    private final List<AnalysisListener> listeners = new CopyOnWriteArrayList<>();
+    // Lần tìm đang chờ bestmove, chỉ luồng đọc hoàn thành nó
+    private CompletableFuture<BestMove> pending;
+    private boolean closed;
+    // Lỗi khiến luồng đọc dừng; sau đó mọi yêu cầu mới đều thất bại ngay
+    private IOException failure;
+
+    /**
+     * Dùng cho máy đã chạy sẵn hoặc máy giả trong kiểm thử; {@link #close()} không dừng tiến trình nào.
+     */
+    public UciClient(InputStream input, OutputStream output) {
+        this(null, input, output);
+    }
+
+    private UciClient(Process process, InputStream input, OutputStream output) {
+        this.process = process;
+        this.writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.US_ASCII));
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.US_ASCII));
+        Thread.ofVirtual().name("uci-reader").start(() -> readLoop(reader));
+    }
+
+    /**
+     * Chạy file máy UCI; gọi {@link #uci()} để bắt tay trước khi tìm.
+     */
+    public static UciClient start(String executable) throws IOException {
+        ProcessBuilder builder = new ProcessBuilder(executable);
+        builder.redirectErrorStream(true);
+        Process process = builder.start();
+        return new UciClient(process, process.getInputStream(), process.getOutputStream());
+    }
+
+    /**
+     * Gửi {@code uci}; future hoàn thành khi máy trả lời {@code uciok}.
+     */
+    public CompletableFuture<Void> uci() {
+        synchronized (lock) {
+            write("uci", handshake);
+        }
+        return handshake;
+    }
+
+    /**
+     * Gửi {@code isready}; future hoàn thành ở dòng {@code readyok} tương ứng.
+     */
+    public CompletableFuture<Void> isReady() {
+        CompletableFuture<Void> ready = new CompletableFuture<>();
+        synchronized (lock) {
+            if (write("isready", ready)) {
+                readyRequests.add(ready);
+            }
+        }
+        return ready;
+    }
+
+    /**
+     * Gửi lệnh {@code position} rồi lệnh {@code go}. Nếu máy còn đang tìm (kể cả lần tìm đã bị hủy
+     * nhưng chưa trả {@code bestmove}) thì future thất bại với {@link IllegalStateException}.
+     */
+    public CompletableFuture<BestMove> search(String positionCommand, String goCommand) {
+        CompletableFuture<BestMove> search = new CompletableFuture<>();
+        synchronized (lock) {
+            if (pending != null) {
+                return CompletableFuture.failedFuture(new IllegalStateException("Engine is already searching"));
+            }
+            if (!write(positionCommand, search) || !write(goCommand, search)) {
+                return search;
+            }
+            pending = search;
+        }
+        CompletableFuture<BestMove> result = search.copy();
+        result.whenComplete((move, error) -> {
+            if (result.isCancelled()) {
+                stop();
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Gửi {@code stop} nếu đang tìm.
+     *
+     * @return Future của nước máy trả về sau khi dừng; hoàn thành ngay với {@code null} nếu máy đang rảnh.
+     */
+    public CompletableFuture<BestMove> stop() {
+        synchronized (lock) {
+            if (pending == null) {
+                return CompletableFuture.completedFuture(null);
+            }
+            write("stop", pending);
+            return pending.copy();
+        }
+    }
+
+    /**
+     * @return {@code false} sau khi đã đóng hoặc máy đã thoát.
+     */
+    public boolean isAlive() {
+        synchronized (lock) {
+            return !closed && failure == null;
+        }
+    }
+
+    public void addAnalysisListener(AnalysisListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeAnalysisListener(AnalysisListener listener) {
+        listeners.remove(listener);
+    }
+
+    public boolean isSearching() {
+        synchronized (lock) {
+            return pending != null;
+        }
+    }
+
+    /**
+     * Gửi lệnh không chờ trả lời, ví dụ {@code setoption} hay {@code ucinewgame}.
+     */
+    public void sendCommand(String command) {
+        synchronized (lock) {
+            write(command, null);
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            if (failure == null) {
+                write("quit", null);
+            }
+            closed = true;
+        }
+        try {
+            if (process != null && !process.waitFor(QUIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                logger.warn("Engine did not quit in {} ms, killing it", QUIT_TIMEOUT_MILLIS);
+                process.destroyForcibly();
+            }
+            writer.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            process.destroyForcibly();
+        } catch (IOException e) {
+            logger.debug("Error closing engine input", e);
+        }
+    }
+
+    // Gọi khi đang giữ lock; lỗi ghi làm future liên quan thất bại thay vì ném ra ngoài
+    private boolean write(String command, CompletableFuture<?> onFailure) {
+        try {
+            if (failure != null) {
+                throw failure;
+            }
+            if (closed) {
+                throw new IOException("Engine client is closed");
+            }
+            writer.write(command);
+            writer.write('\n');
+            writer.flush();
+            logger.debug("> {}", command);
+            return true;
+        } catch (IOException e) {
+            logger.error("Failed to send command to engine: {}", command, e);
+            if (onFailure != null) {
+                onFailure.completeExceptionally(e);
+            }
+            return false;
+        }
+    }
+
+    private void readLoop(BufferedReader reader) {
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                dispatch(line);
+            }
+            failAll(new IOException("Engine closed its output"));
+        } catch (IOException e) {
+            failAll(e);
+        }
+    }
+
+    private void dispatch(String line) {
+        if (line.startsWith("bestmove")) {
+            CompletableFuture<BestMove> search;
+            synchronized (lock) {
+                search = pending;
+                pending = null;
+            }
+            if (search == null) {
+                logger.warn("Unexpected engine output: {}", line);
+            } else {
+                search.complete(BestMove.parse(line));
+            }
+        } else if (line.equals("readyok")) {
+            CompletableFuture<Void> ready;
+            synchronized (lock) {
+                ready = readyRequests.poll();
+            }
+            if (ready != null) {
+                ready.complete(null);
+            }
+        } else if (line.equals("uciok")) {
+            handshake.complete(null);
+        } else if (line.startsWith("info ") && !listeners.isEmpty()) {
+            publish(line);
+        } else {
+            logger.trace("< {}", line);
+        }
+    }
+
+    // Lỗi của một listener hay một dòng info lạ không được làm chết luồng đọc
+    private void publish(String line) {
+        try {
+            AnalysisUpdate update = AnalysisUpdate.parse(line);
+            if (update != null) {
+                for (AnalysisListener listener : listeners) {
+                    listener.onUpdate(update);
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Failed to handle engine info line: {}", line, e);
+        }
+    }
+
+    private void failAll(IOException cause) {
+        CompletableFuture<BestMove> search;
+        synchronized (lock) {
+            failure = cause;
+            search = pending;
+            pending = null;
+            while (!readyRequests.isEmpty()) {
+                readyRequests.poll().completeExceptionally(cause);
+            }
+        }
+        handshake.completeExceptionally(cause);
+        if (search != null) {
+            search.completeExceptionally(cause);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.minhduc5a12.chess.engine.bitbase;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Một bảng thắng/hòa cho một loại tàn cuộc: mỗi thế cờ một bit, bật nếu bên mạnh thắng.
+ * Bên yếu không bao giờ thắng được nên một bit là đủ cho cả thắng, hòa và thua.
+ * File gồm 16 byte đầu (magic, loại tàn cuộc, số thế cờ, 0) rồi tới dãy bit.
+ */
+public class Bitbase {
+    static final int MAGIC = 0x43424231;
+    static final int HEADER_BYTES = 16;
+
+    private final BitbaseMaterial material;
+    private final ByteBuffer data;
+
+    Bitbase(BitbaseMaterial material, ByteBuffer data) {
+        this.material = material;
+        this.data = data;
+    }
+
+    /**
+     * Ánh xạ file vào bộ nhớ; trang nào được đọc tới thì hệ điều hành mới nạp trang đó.
+     */
+    public static Bitbase open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (channel.size() < HEADER_BYTES || data.getInt(0) != MAGIC) {
+                throw new IOException("Not a bitbase file: " + path);
+            }
+            int ordinal = data.getInt(4);
+            if (ordinal < 0 || ordinal >= BitbaseMaterial.values().length) {
+                throw new IOException("Unknown bitbase material in " + path);
+            }
+            BitbaseMaterial material = BitbaseMaterial.values()[ordinal];
+            if (data.getInt(8) != material.size() || channel.size() != HEADER_BYTES + material.size() / 8) {
+                throw new IOException("Truncated bitbase file: " + path);
+            }
+            return new Bitbase(material, data);
+        }
+    }
+
+    public BitbaseMaterial getMaterial() {
+        return material;
+    }
+
+    public boolean isWin(int index) {
+        return (data.get(HEADER_BYTES + (index >>> 3)) >>> (index & 7) & 1) != 0;
+    }
+
+    byte[] toBytes() {
+        byte[] bytes = new byte[data.capacity()];
+        data.get(0, bytes);
+        return bytes;
+    }
+}
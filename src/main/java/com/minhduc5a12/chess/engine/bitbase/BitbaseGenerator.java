@@ -0,0 +1,297 @@
+package com.minhduc5a12.chess.engine.bitbase;
+
+import com.minhduc5a12.chess.core.Attacks;
+import com.minhduc5a12.chess.core.Piece;
+import com.minhduc5a12.chess.core.Square;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Sinh bitbase bằng phân tích ngược: đánh dấu các thế chiếu hết, rồi lặp lại cho tới khi không đổi nữa:
+ * bên mạnh thắng nếu có một nước tới thế bên yếu thua, bên yếu thua nếu mọi nước đều tới thế bên mạnh thắng.
+ * Thế nào không được đánh dấu là hòa. Mỗi lượt chỉ đọc nửa bảng của bên kia và ghi nửa bảng của bên đi,
+ * nên các đoạn chỉ số được chia cho {@link ForkJoinPool} mà không cần khóa.
+ * <p>
+ * Chạy: {@code java ... BitbaseGenerator <thư mục>} để ghi cả bốn file.
+ */
+public final class BitbaseGenerator {
+    private static final Logger logger = LoggerFactory.getLogger(BitbaseGenerator.class);
+
+    private static final byte UNKNOWN = 0;
+    private static final byte WIN = 1;
+    private static final byte DRAW = 2;
+    private static final byte ILLEGAL = 3;
+
+    // Số thế cờ tối đa mỗi tác vụ fork-join tự xử lý thay vì chia tiếp
+    private static final int CHUNK = 1 << 14;
+
+    // Thứ tự sinh: KPK cần KQK và KRK để tra nước phong cấp
+    private static final BitbaseMaterial[] ORDER = {
+            BitbaseMaterial.KQK, BitbaseMaterial.KRK, BitbaseMaterial.KPK, BitbaseMaterial.KBNK};
+
+    private final BitbaseMaterial material;
+    private final int pieceCount;
+    private final byte[] state;
+    private final Bitbase queenTable;
+    private final Bitbase rookTable;
+
+    private BitbaseGenerator(BitbaseMaterial material, Map<BitbaseMaterial, Bitbase> finished) {
+        this.material = material;
+        this.pieceCount = material.pieceCount();
+        this.state = new byte[material.size()];
+        this.queenTable = finished.get(BitbaseMaterial.KQK);
+        this.rookTable = finished.get(BitbaseMaterial.KRK);
+        if (material == BitbaseMaterial.KPK && (queenTable == null || rookTable == null)) {
+            throw new IllegalArgumentException("KPK needs KQK and KRK to resolve promotions");
+        }
+    }
+
+    /**
+     * @param finished Các bảng đã sinh trước đó, dùng khi thế cờ chuyển sang loại tàn cuộc khác.
+     */
+    public static Bitbase generate(BitbaseMaterial material, Map<BitbaseMaterial, Bitbase> finished) {
+        return new BitbaseGenerator(material, finished).run();
+    }
+
+    public static void generateAll(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Map<BitbaseMaterial, Bitbase> finished = new EnumMap<>(BitbaseMaterial.class);
+        for (BitbaseMaterial material : ORDER) {
+            Bitbase bitbase = generate(material, finished);
+            finished.put(material, bitbase);
+            Path file = directory.resolve(material.fileName());
+            Files.write(file, bitbase.toBytes());
+            logger.info("Wrote {}", file);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: BitbaseGenerator <output directory>");
+            System.exit(1);
+        }
+        generateAll(Path.of(args[0]));
+    }
+
+    private Bitbase run() {
+        long start = System.nanoTime();
+        int half = material.size() / 2;
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        pool.invoke(new Pass(Pass.INIT, 0, material.size()));
+        int iterations = 0;
+        int changed;
+        do {
+            changed = pool.invoke(new Pass(Pass.STRONG, 0, half));
+            changed += pool.invoke(new Pass(Pass.WEAK, half, material.size()));
+            iterations++;
+        } while (changed > 0);
+
+        ByteBuffer buffer = ByteBuffer.allocate(Bitbase.HEADER_BYTES + material.size() / 8);
+        buffer.putInt(Bitbase.MAGIC).putInt(material.ordinal()).putInt(material.size()).putInt(0);
+        for (int index = 0; index < state.length; index++) {
+            if (state[index] == WIN) {
+                int offset = Bitbase.HEADER_BYTES + (index >>> 3);
+                buffer.put(offset, (byte) (buffer.get(offset) | 1 << (index & 7)));
+            }
+        }
+        logger.info("Generated {} in {} iterations, {} ms", material, iterations, (System.nanoTime() - start) / 1_000_000);
+        return new Bitbase(material, buffer);
+    }
+
+    private final class Pass extends RecursiveTask<Integer> {
+        private static final long serialVersionUID = 1L;
+
+        static final int INIT = 0;
+        static final int STRONG = 1;
+        static final int WEAK = 2;
+
+        private final int kind;
+        private final int from;
+        private final int to;
+
+        Pass(int kind, int from, int to) {
+            this.kind = kind;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (to - from > CHUNK) {
+                int mid = (from + to) >>> 1;
+                Pass left = new Pass(kind, from, mid);
+                left.fork();
+                int right = new Pass(kind, mid, to).compute();
+                return right + left.join();
+            }
+            int[] pieces = new int[pieceCount];
+            int changed = 0;
+            for (int index = from; index < to; index++) {
+                if (kind == INIT) {
+                    state[index] = classify(index, pieces);
+                } else if (state[index] == UNKNOWN) {
+                    boolean win = kind == STRONG ? strongWins(index, pieces) : weakLoses(index, pieces);
+                    if (win) {
+                        state[index] = WIN;
+                        changed++;
+                    }
+                }
+            }
+            return changed;
+        }
+    }
+
+    // Loại bỏ thế không hợp lệ, đánh dấu chiếu hết, hết nước và các thế bên yếu ăn được quân
+    private byte classify(int index, int[] pieces) {
+        int strongKing = index >>> material.strongKingShift() & 63;
+        int weakKing = index >>> material.weakKingShift() & 63;
+        long occupied = Square.bit(strongKing) | Square.bit(weakKing);
+        for (int i = 0; i < pieceCount; i++) {
+            pieces[i] = index >>> material.shift(i) & 63;
+            occupied |= Square.bit(pieces[i]);
+            if (material.pieceType(i) == Piece.PAWN && (Square.rank(pieces[i]) == 0 || Square.rank(pieces[i]) == 7)) {
+                return ILLEGAL;
+            }
+        }
+        if (Long.bitCount(occupied) != pieceCount + 2 || (Attacks.king(strongKing) & Square.bit(weakKing)) != 0) {
+            return ILLEGAL;
+        }
+
+        if (index >>> material.sideShift() == Piece.WHITE) {
+            return (attacks(pieces, -1, occupied) & Square.bit(weakKing)) != 0 ? ILLEGAL : UNKNOWN;
+        }
+
+        long withoutKing = occupied ^ Square.bit(weakKing);
+        long attacked = attacks(pieces, -1, withoutKing);
+        long targets = Attacks.king(weakKing) & ~Attacks.king(strongKing);
+        boolean hasMove = false;
+        for (long bits = targets; bits != 0; bits &= bits - 1) {
+            int target = Long.numberOfTrailingZeros(bits);
+            int captured = pieceOn(pieces, target);
+            if (captured >= 0) {
+                // Ăn được quân thì chỉ còn K+quân nhẹ hoặc K đấu K: luôn hòa
+                if ((attacks(pieces, captured, withoutKing ^ Square.bit(target)) & Square.bit(target)) == 0) {
+                    return DRAW;
+                }
+            } else if ((attacked & Square.bit(target)) == 0) {
+                hasMove = true;
+            }
+        }
+        if (hasMove) {
+            return UNKNOWN;
+        }
+        return (attacks(pieces, -1, occupied) & Square.bit(weakKing)) != 0 ? WIN : DRAW;
+    }
+
+    private boolean strongWins(int index, int[] pieces) {
+        int strongKing = index >>> material.strongKingShift() & 63;
+        int weakKing = index >>> material.weakKingShift() & 63;
+        long occupied = Square.bit(strongKing) | Square.bit(weakKing);
+        for (int i = 0; i < pieceCount; i++) {
+            pieces[i] = index >>> material.shift(i) & 63;
+            occupied |= Square.bit(pieces[i]);
+        }
+        int weakToMove = index | 1 << material.sideShift();
+
+        long kingTargets = Attacks.king(strongKing) & ~occupied & ~Attacks.king(weakKing);
+        for (long bits = kingTargets; bits != 0; bits &= bits - 1) {
+            int child = replace(weakToMove, material.strongKingShift(), Long.numberOfTrailingZeros(bits));
+            if (state[child] == WIN) {
+                return true;
+            }
+        }
+
+        for (int i = 0; i < pieceCount; i++) {
+            int from = pieces[i];
+            long targets;
+            if (material.pieceType(i) == Piece.PAWN) {
+                targets = Square.bit(from + 8) & ~occupied;
+                if (targets != 0 && Square.rank(from) == 1) {
+                    targets |= Square.bit(from + 16) & ~occupied;
+                }
+            } else {
+                targets = pieceAttacks(material.pieceType(i), from, occupied) & ~occupied;
+            }
+            for (long bits = targets; bits != 0; bits &= bits - 1) {
+                int to = Long.numberOfTrailingZeros(bits);
+                boolean win = material.pieceType(i) == Piece.PAWN && Square.rank(to) == 7
+                        ? promotionWins(strongKing, weakKing, to)
+                        : state[replace(weakToMove, material.shift(i), to)] == WIN;
+                if (win) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // Phong mã hay tượng chỉ còn hòa nên chỉ cần xét hậu và xe
+    private boolean promotionWins(int strongKing, int weakKing, int square) {
+        int[] promoted = {square};
+        return queenTable.isWin(BitbaseMaterial.KQK.index(Piece.BLACK, strongKing, weakKing, promoted))
+                || rookTable.isWin(BitbaseMaterial.KRK.index(Piece.BLACK, strongKing, weakKing, promoted));
+    }
+
+    private boolean weakLoses(int index, int[] pieces) {
+        int strongKing = index >>> material.strongKingShift() & 63;
+        int weakKing = index >>> material.weakKingShift() & 63;
+        long occupied = Square.bit(strongKing);
+        for (int i = 0; i < pieceCount; i++) {
+            pieces[i] = index >>> material.shift(i) & 63;
+            occupied |= Square.bit(pieces[i]);
+        }
+        // Nước ăn quân hợp lệ đã được đánh dấu hòa lúc khởi tạo, nên ô đích ở đây đều trống
+        long targets = Attacks.king(weakKing) & ~Attacks.king(strongKing) & ~attacks(pieces, -1, occupied);
+        int strongToMove = index & ~(1 << material.sideShift());
+        for (long bits = targets; bits != 0; bits &= bits - 1) {
+            if (state[replace(strongToMove, material.weakKingShift(), Long.numberOfTrailingZeros(bits))] != WIN) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Các ô bị quân (không tính vua) của bên mạnh tấn công, bỏ qua quân thứ skip
+    private long attacks(int[] pieces, int skip, long occupied) {
+        long attacks = 0L;
+        for (int i = 0; i < pieceCount; i++) {
+            if (i != skip) {
+                attacks |= pieceAttacks(material.pieceType(i), pieces[i], occupied);
+            }
+        }
+        return attacks;
+    }
+
+    private static long pieceAttacks(int type, int square, long occupied) {
+        return switch (type) {
+            case Piece.PAWN -> Attacks.pawn(Piece.WHITE, square);
+            case Piece.KNIGHT -> Attacks.knight(square);
+            case Piece.BISHOP -> Attacks.bishop(square, occupied);
+            case Piece.ROOK -> Attacks.rook(square, occupied);
+            case Piece.QUEEN -> Attacks.queen(square, occupied);
+            default -> throw new IllegalArgumentException("Unexpected piece type: " + type);
+        };
+    }
+
+    private int pieceOn(int[] pieces, int square) {
+        for (int i = 0; i < pieceCount; i++) {
+            if (pieces[i] == square) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int replace(int index, int shift, int square) {
+        return index & ~(63 << shift) | square << shift;
+    }
+}
@@ -0,0 +1,65 @@
+package com.minhduc5a12.chess.engine.bitbase;
+
+import com.minhduc5a12.chess.core.Piece;
+
+/**
+ * Các thế tàn cuộc có bitbase. Bên mạnh (bên có quân ngoài vua) luôn được quy về quân trắng,
+ * bên yếu chỉ còn vua. Chỉ số thế cờ: bên đi (0 = bên mạnh) | vua mạnh | vua yếu | từng quân, mỗi ô 6 bit.
+ */
+public enum BitbaseMaterial {
+    KPK(Piece.PAWN),
+    KRK(Piece.ROOK),
+    KQK(Piece.QUEEN),
+    KBNK(Piece.BISHOP, Piece.KNIGHT);
+
+    private final int[] pieceTypes;
+
+    BitbaseMaterial(int... pieceTypes) {
+        this.pieceTypes = pieceTypes;
+    }
+
+    public int pieceCount() {
+        return pieceTypes.length;
+    }
+
+    public int pieceType(int i) {
+        return pieceTypes[i];
+    }
+
+    public int size() {
+        return 2 << (6 * (pieceTypes.length + 2));
+    }
+
+    public String fileName() {
+        return name().toLowerCase() + ".bb";
+    }
+
+    /**
+     * @param sideToMove {@link Piece#WHITE} nếu bên mạnh đi.
+     * @param pieces     Ô của từng quân theo thứ tự {@link #pieceType(int)}.
+     */
+    public int index(int sideToMove, int strongKing, int weakKing, int[] pieces) {
+        int index = (sideToMove << 6 | strongKing) << 6 | weakKing;
+        for (int i = 0; i < pieceTypes.length; i++) {
+            index = index << 6 | pieces[i];
+        }
+        return index;
+    }
+
+    // Dịch trái của ô quân thứ i trong chỉ số
+    int shift(int i) {
+        return 6 * (pieceTypes.length - 1 - i);
+    }
+
+    int strongKingShift() {
+        return 6 * (pieceTypes.length + 1);
+    }
+
+    int weakKingShift() {
+        return 6 * pieceTypes.length;
+    }
+
+    int sideShift() {
+        return 6 * (pieceTypes.length + 2);
+    }
+}
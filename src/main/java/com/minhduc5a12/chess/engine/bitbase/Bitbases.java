@@ -0,0 +1,130 @@
+package com.minhduc5a12.chess.engine.bitbase;
+
+import com.minhduc5a12.chess.core.Piece;
+import com.minhduc5a12.chess.core.Position;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Tra cứu các bitbase đã nạp. Kết quả luôn nhìn từ phía bên đi: {@link #WIN}, {@link #DRAW}, {@link #LOSS},
+ * hoặc {@link #UNKNOWN} nếu thế cờ không thuộc bảng nào.
+ */
+public class Bitbases {
+    private static final Logger logger = LoggerFactory.getLogger(Bitbases.class);
+
+    public static final int LOSS = -1;
+    public static final int DRAW = 0;
+    public static final int WIN = 1;
+    public static final int UNKNOWN = 2;
+
+    public static final int MAX_PIECES = 4;
+
+    // values() sao chép mảng mỗi lần gọi, mà probe chạy ở mọi nút ít quân
+    private static final BitbaseMaterial[] MATERIALS = BitbaseMaterial.values();
+
+    private static Bitbases defaultInstance;
+
+    private final Map<BitbaseMaterial, Bitbase> tables;
+
+    public Bitbases(Map<BitbaseMaterial, Bitbase> tables) {
+        this.tables = new EnumMap<>(BitbaseMaterial.class);
+        this.tables.putAll(tables);
+    }
+
+    public static Bitbases empty() {
+        return new Bitbases(Map.of());
+    }
+
+    /**
+     * Nạp mọi file {@code .bb} có trong thư mục; loại nào thiếu file thì bỏ qua.
+     */
+    public static Bitbases load(Path directory) throws IOException {
+        Map<BitbaseMaterial, Bitbase> tables = new EnumMap<>(BitbaseMaterial.class);
+        for (BitbaseMaterial material : BitbaseMaterial.values()) {
+            Path file = directory.resolve(material.fileName());
+            if (Files.exists(file)) {
+                tables.put(material, Bitbase.open(file));
+            }
+        }
+        return new Bitbases(tables);
+    }
+
+    /**
+     * Bảng dùng chung cho cả chương trình, nạp một lần từ thư mục trong thuộc tính {@code chess.bitbases}.
+     */
+    public static synchronized Bitbases getDefault() {
+        if (defaultInstance == null) {
+            String directory = System.getProperty("chess.bitbases");
+            defaultInstance = empty();
+            if (directory != null) {
+                try {
+                    defaultInstance = load(Path.of(directory));
+                    logger.info("Loaded bitbases {} from {}", defaultInstance.tables.keySet(), directory);
+                } catch (IOException e) {
+                    logger.error("Cannot load bitbases from {}", directory, e);
+                }
+            }
+        }
+        return defaultInstance;
+    }
+
+    public boolean isEmpty() {
+        return tables.isEmpty();
+    }
+
+    public int probe(Position position) {
+        if (tables.isEmpty() || Long.bitCount(position.occupied()) > MAX_PIECES || position.getCastlingRights() != 0) {
+            return UNKNOWN;
+        }
+        long whitePieces = position.occupancy(Piece.WHITE) & ~position.bitboard(Piece.WHITE, Piece.KING);
+        long blackPieces = position.occupancy(Piece.BLACK) & ~position.bitboard(Piece.BLACK, Piece.KING);
+        if ((whitePieces == 0) == (blackPieces == 0)) {
+            return UNKNOWN;
+        }
+        int strong = whitePieces != 0 ? Piece.WHITE : Piece.BLACK;
+        Bitbase table = tables.get(materialOf(position, strong, Long.bitCount(whitePieces | blackPieces)));
+        if (table == null) {
+            return UNKNOWN;
+        }
+
+        // Bên mạnh là đen thì lật bàn cờ theo chiều dọc để quy về trắng.
+        // Chỉ số ghép thẳng từ bitboard như BitbaseMaterial.index, không cần mảng tạm
+        BitbaseMaterial material = table.getMaterial();
+        int flip = strong == Piece.WHITE ? 0 : 56;
+        boolean strongToMove = position.getSideToMove() == strong;
+        int index = (strongToMove ? Piece.WHITE : Piece.BLACK) << material.sideShift()
+                | (position.kingSquare(strong) ^ flip) << material.strongKingShift()
+                | (position.kingSquare(strong ^ 1) ^ flip) << material.weakKingShift();
+        for (int i = 0; i < material.pieceCount(); i++) {
+            index |= (Long.numberOfTrailingZeros(position.bitboard(strong, material.pieceType(i))) ^ flip)
+                    << material.shift(i);
+        }
+        if (!table.isWin(index)) {
+            return DRAW;
+        }
+        return strongToMove ? WIN : LOSS;
+    }
+
+    private static BitbaseMaterial materialOf(Position position, int strong, int pieceCount) {
+        for (BitbaseMaterial material : MATERIALS) {
+            if (material.pieceCount() != pieceCount) {
+                continue;
+            }
+            // Mỗi loại quân trong bảng đúng một con, ví dụ hai tượng không phải KBNK
+            boolean matches = true;
+            for (int i = 0; i < material.pieceCount(); i++) {
+                matches &= Long.bitCount(position.bitboard(strong, material.pieceType(i))) == 1;
+            }
+            if (matches) {
+                return material;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,69 @@
+package com.minhduc5a12.chess.engine.book;
+
+import com.minhduc5a12.chess.core.Moves;
+import com.minhduc5a12.chess.core.Position;
+import com.minhduc5a12.chess.engine.AnalysisListener;
+import com.minhduc5a12.chess.engine.ChessEngine;
+import com.minhduc5a12.chess.engine.EngineClock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.random.RandomGenerator;
+
+/**
+ * Bọc một máy bất kỳ: còn trong sách khai cuộc thì đi theo sách, hết sách mới hỏi máy bên trong.
+ */
+public class BookEngine implements ChessEngine {
+    private static final Logger logger = LoggerFactory.getLogger(BookEngine.class);
+    private final PolyglotBook book;
+    private final ChessEngine delegate;
+    private final RandomGenerator random;
+
+    public BookEngine(PolyglotBook book, ChessEngine delegate) {
+        this(book, delegate, RandomGenerator.getDefault());
+    }
+
+    public BookEngine(PolyglotBook book, ChessEngine delegate, RandomGenerator random) {
+        this.book = book;
+        this.delegate = delegate;
+        this.random = random;
+    }
+
+    @Override
+    public String bestMove(Position position) {
+        String move = bookMove(position);
+        return move != null ? move : delegate.bestMove(position);
+    }
+
+    @Override
+    public CompletableFuture<String> bestMoveAsync(Position position, EngineClock clock, Executor executor) {
+        String move = bookMove(position);
+        return move != null ? CompletableFuture.completedFuture(move) : delegate.bestMoveAsync(position, clock, executor);
+    }
+
+    @Override
+    public void stop() {
+        delegate.stop();
+    }
+
+    @Override
+    public void addAnalysisListener(AnalysisListener listener) {
+        delegate.addAnalysisListener(listener);
+    }
+
+    private String bookMove(Position position) {
+        int move = book.probe(position, random);
+        if (move == Moves.NONE) {
+            return null;
+        }
+        logger.info("Book move {}", Moves.toUci(move));
+        return Moves.toUci(move);
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+}
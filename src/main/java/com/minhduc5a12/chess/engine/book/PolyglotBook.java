@@ -0,0 +1,115 @@
+package com.minhduc5a12.chess.engine.book;
+
+import com.minhduc5a12.chess.core.MoveGenerator;
+import com.minhduc5a12.chess.core.MoveList;
+import com.minhduc5a12.chess.core.Moves;
+import com.minhduc5a12.chess.core.Piece;
+import com.minhduc5a12.chess.core.Position;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.random.RandomGenerator;
+
+/**
+ * Sách khai cuộc định dạng Polyglot {@code .bin}, ánh xạ thẳng vào bộ nhớ bằng {@link FileChannel#map}.
+ * Mỗi mục 16 byte big-endian: khóa (8), nước đi (2), trọng số (2), learn (4), sắp xếp tăng dần theo khóa,
+ * nên tra cứu là một lần tìm kiếm nhị phân, không đọc cả file lên heap.
+ */
+public class PolyglotBook {
+    private static final int ENTRY_BYTES = 16;
+
+    private final MappedByteBuffer entries;
+    private final int entryCount;
+    private final PolyglotKey keys;
+
+    public PolyglotBook(Path path, PolyglotKey keys) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size % ENTRY_BYTES != 0 || size / ENTRY_BYTES > Integer.MAX_VALUE) {
+                throw new IOException("Not a Polyglot book: " + path);
+            }
+            // Vùng ánh xạ vẫn dùng được sau khi đóng channel
+            this.entries = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            this.entries.order(ByteOrder.BIG_ENDIAN);
+            this.entryCount = (int) (size / ENTRY_BYTES);
+        }
+        this.keys = keys;
+    }
+
+    public int size() {
+        return entryCount;
+    }
+
+    /**
+     * Chọn ngẫu nhiên một nước trong sách theo trọng số.
+     *
+     * @return Nước đi dạng {@code int} hợp lệ trong thế cờ, hoặc {@link Moves#NONE} nếu sách không có thế cờ này.
+     */
+    public int probe(Position position, RandomGenerator random) {
+        long key = keys.compute(position);
+        int first = lowerBound(key);
+        int totalWeight = 0;
+        for (int i = first; i < entryCount && keyAt(i) == key; i++) {
+            totalWeight += weightAt(i);
+        }
+        if (totalWeight == 0) {
+            return Moves.NONE;
+        }
+
+        int pick = random.nextInt(totalWeight);
+        for (int i = first; i < entryCount && keyAt(i) == key; i++) {
+            pick -= weightAt(i);
+            if (pick < 0) {
+                return toMove(position, moveAt(i));
+            }
+        }
+        return Moves.NONE;
+    }
+
+    private int lowerBound(long key) {
+        int low = 0;
+        int high = entryCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            // Khóa Polyglot so sánh như số không dấu
+            if (Long.compareUnsigned(keyAt(mid), key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private long keyAt(int index) {
+        return entries.getLong(index * ENTRY_BYTES);
+    }
+
+    private int moveAt(int index) {
+        return entries.getShort(index * ENTRY_BYTES + 8) & 0xFFFF;
+    }
+
+    private int weightAt(int index) {
+        return entries.getShort(index * ENTRY_BYTES + 10) & 0xFFFF;
+    }
+
+    // Đổi nước Polyglot sang nước hợp lệ của bộ luật; nhập thành được ghi là vua ăn xe của mình
+    private static int toMove(Position position, int bookMove) {
+        int to = bookMove & 0x3F;
+        int from = (bookMove >>> 6) & 0x3F;
+        int promotion = (bookMove >>> 12) & 0x7;
+
+        if (Piece.type(position.pieceAt(from)) == Piece.KING && position.pieceAt(to) != Piece.NONE
+                && Piece.color(position.pieceAt(to)) == Piece.color(position.pieceAt(from))) {
+            to = to > from ? from + 2 : from - 2;
+        }
+
+        MoveList moves = new MoveList();
+        MoveGenerator.generateLegal(position, moves);
+        return moves.find(from, to, promotion == 0 ? Piece.NONE : promotion);
+    }
+}
@@ -0,0 +1,63 @@
+package com.minhduc5a12.chess.engine.book;
+
+import com.minhduc5a12.chess.core.Attacks;
+import com.minhduc5a12.chess.core.Piece;
+import com.minhduc5a12.chess.core.Position;
+import com.minhduc5a12.chess.core.Square;
+
+/**
+ * Khóa Zobrist theo chuẩn Polyglot, khác với {@link com.minhduc5a12.chess.core.Zobrist} của bộ luật.
+ * Bảng 781 số ngẫu nhiên ({@code Random64}) phải đúng bảng trong đặc tả Polyglot thì mới đọc được
+ * sách khai cuộc có sẵn; {@link #standard()} dùng đúng bảng đó.
+ */
+public final class PolyglotKey {
+    public static final int RANDOM_COUNT = 781;
+    private static final PolyglotKey STANDARD = new PolyglotKey(PolyglotRandoms.RANDOM64);
+
+    private static final int CASTLING_OFFSET = 768;
+    private static final int EN_PASSANT_OFFSET = 772;
+    private static final int TURN_OFFSET = 780;
+
+    private final long[] randoms;
+
+    public PolyglotKey(long[] randoms) {
+        if (randoms.length != RANDOM_COUNT) {
+            throw new IllegalArgumentException("Polyglot needs " + RANDOM_COUNT + " random numbers, got " + randoms.length);
+        }
+        this.randoms = randoms.clone();
+    }
+
+    /**
+     * @return Khóa theo bảng {@code Random64} chuẩn của Polyglot.
+     */
+    public static PolyglotKey standard() {
+        return STANDARD;
+    }
+
+    public long compute(Position position) {
+        long key = 0L;
+        for (int square = 0; square < 64; square++) {
+            int piece = position.pieceAt(square);
+            if (piece != Piece.NONE) {
+                // Polyglot xếp quân theo cặp đen/trắng: tốt đen 0, tốt trắng 1, mã đen 2...
+                int kind = 2 * Piece.type(piece) + (Piece.color(piece) == Piece.WHITE ? 1 : 0);
+                key ^= randoms[64 * kind + square];
+            }
+        }
+        if (position.hasCastlingRight(Position.WHITE_KINGSIDE)) key ^= randoms[CASTLING_OFFSET];
+        if (position.hasCastlingRight(Position.WHITE_QUEENSIDE)) key ^= randoms[CASTLING_OFFSET + 1];
+        if (position.hasCastlingRight(Position.BLACK_KINGSIDE)) key ^= randoms[CASTLING_OFFSET + 2];
+        if (position.hasCastlingRight(Position.BLACK_QUEENSIDE)) key ^= randoms[CASTLING_OFFSET + 3];
+
+        // Cột bắt tốt qua đường chỉ tính khi bên đi có tốt bắt được
+        int enPassant = position.getEnPassantSquare();
+        int us = position.getSideToMove();
+        if (enPassant != Square.NONE && (Attacks.pawn(us ^ 1, enPassant) & position.bitboard(us, Piece.PAWN)) != 0) {
+            key ^= randoms[EN_PASSANT_OFFSET + Square.file(enPassant)];
+        }
+        if (us == Piece.WHITE) {
+            key ^= randoms[TURN_OFFSET];
+        }
+        return key;
+    }
+}
@@ -0,0 +1,99 @@
+package com.minhduc5a12.chess.engine.search;
+
+import com.minhduc5a12.chess.core.Piece;
+import com.minhduc5a12.chess.core.PieceSquareTable;
+import com.minhduc5a12.chess.core.Position;
+import com.minhduc5a12.chess.core.Square;
+
+/**
+ * Đánh giá tĩnh theo centipawn, nhìn từ phía bên đi: nội suy giữa điểm trung cuộc và tàn cuộc
+ * theo giai đoạn ván cờ. Các thành phần do {@link Position} cập nhật từng phần khi đi nước,
+ * nên mỗi lần gọi chỉ tốn O(1).
+ */
+public final class Evaluator {
+
+    private Evaluator() {
+        throw new AssertionError("Cannot instantiate Evaluator class");
+    }
+
+    public static int evaluate(Position position) {
+        assert position.getPsqt() == recomputePsqt(position) : "Incremental PST out of sync: " + position.toFen();
+        return taper(position.getPsqt(), position.getPhase(), position.getSideToMove());
+    }
+
+    /**
+     * Như {@link #evaluate(Position)} nhưng cộng thêm điểm cấu trúc tốt lấy từ {@code pawns}.
+     */
+    public static int evaluate(Position position, PawnHashTable pawns) {
+        assert position.getPsqt() == recomputePsqt(position) : "Incremental PST out of sync: " + position.toFen();
+        return taper(position.getPsqt() + pawns.probe(position), position.getPhase(), position.getSideToMove());
+    }
+
+    /**
+     * Tính lại từ đầu bằng cách duyệt cả bàn cờ; chỉ dùng để kiểm tra bản cập nhật từng phần.
+     */
+    public static int evaluateFromScratch(Position position) {
+        int phase = 0;
+        for (int square = 0; square < 64; square++) {
+            int piece = position.pieceAt(square);
+            if (piece != Piece.NONE) {
+                phase += PieceSquareTable.phase(piece);
+            }
+        }
+        return taper(recomputePsqt(position), phase, position.getSideToMove());
+    }
+
+    /**
+     * Điểm thưởng cho bên mạnh trong tàn cuộc đã biết thắng: dồn vua bên yếu ra mép
+     * (với KBNK là về góc cùng màu tượng), kéo hai vua lại gần và đẩy tốt lên.
+     */
+    public static int mopUp(Position position, int strong) {
+        int weakKing = position.kingSquare(strong ^ 1);
+        int strongKing = position.kingSquare(strong);
+        int kingDistance = Math.abs(Square.file(weakKing) - Square.file(strongKing))
+                + Math.abs(Square.rank(weakKing) - Square.rank(strongKing));
+        int bonus = 10 * centreDistance(weakKing) + 4 * (14 - kingDistance);
+
+        long bishops = position.bitboard(strong, Piece.BISHOP);
+        if (bishops != 0 && position.bitboard(strong, Piece.KNIGHT) != 0) {
+            int bishop = Long.numberOfTrailingZeros(bishops);
+            boolean lightBishop = ((Square.file(bishop) + Square.rank(bishop)) & 1) != 0;
+            int cornerA = lightBishop ? 7 : 0;
+            int cornerB = lightBishop ? 56 : 63;
+            bonus += 20 * (7 - Math.min(chebyshev(weakKing, cornerA), chebyshev(weakKing, cornerB)));
+        }
+        for (long pawns = position.bitboard(strong, Piece.PAWN); pawns != 0; pawns &= pawns - 1) {
+            int rank = Square.rank(Long.numberOfTrailingZeros(pawns));
+            bonus += 10 * (strong == Piece.WHITE ? rank : 7 - rank);
+        }
+        return bonus;
+    }
+
+    private static int centreDistance(int square) {
+        int file = Square.file(square);
+        int rank = Square.rank(square);
+        return Math.max(3 - file, file - 4) + Math.max(3 - rank, rank - 4);
+    }
+
+    private static int chebyshev(int a, int b) {
+        return Math.max(Math.abs(Square.file(a) - Square.file(b)), Math.abs(Square.rank(a) - Square.rank(b)));
+    }
+
+    private static int recomputePsqt(Position position) {
+        int psqt = 0;
+        for (int square = 0; square < 64; square++) {
+            int piece = position.pieceAt(square);
+            if (piece != Piece.NONE) {
+                psqt += PieceSquareTable.score(piece, square);
+            }
+        }
+        return psqt;
+    }
+
+    private static int taper(int psqt, int phase, int sideToMove) {
+        int mgPhase = Math.min(phase, PieceSquareTable.MAX_PHASE);
+        int score = (PieceSquareTable.mg(psqt) * mgPhase
+                + PieceSquareTable.eg(psqt) * (PieceSquareTable.MAX_PHASE - mgPhase)) / PieceSquareTable.MAX_PHASE;
+        return sideToMove == Piece.WHITE ? score : -score;
+    }
+}
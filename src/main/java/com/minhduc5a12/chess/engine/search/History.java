@@ -0,0 +1,86 @@
+package com.minhduc5a12.chess.engine.search;
+
+import com.minhduc5a12.chess.core.Moves;
+import com.minhduc5a12.chess.core.Piece;
+import com.minhduc5a12.chess.core.Position;
+
+/**
+ * Thống kê nước đi yên tĩnh (không ăn quân) dùng để sắp xếp: hai nước sát thủ (killer) mỗi ply,
+ * nước đáp trả (countermove) theo quân và ô đến của nước trước, và điểm lịch sử theo (bên đi, ô đi, ô đến).
+ * Mỗi {@link Searcher} giữ một bản riêng nên không cần đồng bộ.
+ */
+final class History {
+    // Điểm lịch sử luôn nằm trong [-MAX_SCORE, MAX_SCORE] nhờ công thức "gravity"
+    static final int MAX_SCORE = 16384;
+
+    private final int[][] killers = new int[Searcher.MAX_PLY + 1][2];
+    private final int[][][] butterfly = new int[2][64][64];
+    private final int[][] counterMoves = new int[Piece.COUNT][64];
+
+    /**
+     * Gọi đầu mỗi lần tìm: xóa killer, giảm một nửa điểm lịch sử để thông tin cũ phai dần.
+     */
+    void newSearch() {
+        for (int[] slots : killers) {
+            slots[0] = Moves.NONE;
+            slots[1] = Moves.NONE;
+        }
+        for (int[][] byFrom : butterfly) {
+            for (int[] byTo : byFrom) {
+                for (int to = 0; to < 64; to++) {
+                    byTo[to] /= 2;
+                }
+            }
+        }
+    }
+
+    int killer(int ply, int slot) {
+        return killers[ply][slot];
+    }
+
+    int score(int color, int move) {
+        return butterfly[color][Moves.from(move)][Moves.to(move)];
+    }
+
+    /**
+     * @return Nước đáp trả đã ghi nhận cho nước vừa đi, hoặc {@link Moves#NONE}.
+     */
+    int counterMove(Position position) {
+        int last = position.lastMove();
+        if (last == Moves.NONE) {
+            return Moves.NONE;
+        }
+        int to = Moves.to(last);
+        return counterMoves[position.pieceAt(to)][to];
+    }
+
+    /**
+     * Cập nhật khi nước yên tĩnh {@code bestMove} gây cắt beta; các nước yên tĩnh đã thử trước nó bị trừ điểm.
+     */
+    void update(Position position, int ply, int depth, int bestMove, int[] triedQuiets, int triedCount) {
+        if (killers[ply][0] != bestMove) {
+            killers[ply][1] = killers[ply][0];
+            killers[ply][0] = bestMove;
+        }
+        int last = position.lastMove();
+        if (last != Moves.NONE) {
+            int to = Moves.to(last);
+            counterMoves[position.pieceAt(to)][to] = bestMove;
+        }
+
+        int color = position.getSideToMove();
+        int bonus = Math.min(depth * depth, 1200);
+        add(color, bestMove, bonus);
+        for (int i = 0; i < triedCount; i++) {
+            if (triedQuiets[i] != bestMove) {
+                add(color, triedQuiets[i], -bonus);
+            }
+        }
+    }
+
+    private void add(int color, int move, int bonus) {
+        int[] byTo = butterfly[color][Moves.from(move)];
+        int to = Moves.to(move);
+        byTo[to] += bonus - byTo[to] * Math.abs(bonus) / MAX_SCORE;
+    }
+}
@@ -0,0 +1,111 @@
+package com.minhduc5a12.chess.engine.search;
+
+import com.minhduc5a12.chess.core.Moves;
+import com.minhduc5a12.chess.core.Position;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Lazy SMP: luồng chính và {@code threads - 1} luồng phụ cùng tìm trên một thế cờ, chỉ chia sẻ với nhau
+ * qua {@link TranspositionTable}. Luồng phụ bắt đầu ở độ sâu lệch nhau để không đi trùng đường,
+ * và bị dừng ngay khi luồng chính xong. Với một luồng, kết quả hoàn toàn tất định
+ * (khi không giới hạn thời gian) vì không có luồng phụ nào ghi vào bảng.
+ */
+public class LazySmpSearch {
+    private final TranspositionTable table;
+    private final Searcher[] searchers;
+    private final ExecutorService helpers;
+
+    public LazySmpSearch(TranspositionTable table, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Thread count must be at least 1: " + threads);
+        }
+        this.table = table;
+        this.searchers = new Searcher[threads];
+        for (int i = 0; i < threads; i++) {
+            searchers[i] = new Searcher(table);
+        }
+        this.helpers = threads == 1 ? null : Executors.newFixedThreadPool(threads - 1, runnable -> {
+            Thread thread = new Thread(runnable, "search-helper");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public int getThreads() {
+        return searchers.length;
+    }
+
+    /**
+     * @return Tỉ lệ trúng gộp của bảng băm tốt ở mọi luồng.
+     */
+    public double getPawnHitRate() {
+        long probes = 0;
+        long hits = 0;
+        for (Searcher searcher : searchers) {
+            probes += searcher.getPawnTable().getProbes();
+            hits += searcher.getPawnTable().getHits();
+        }
+        return probes == 0 ? 0.0 : (double) hits / probes;
+    }
+
+    public SearchResult search(Position root, SearchLimits limits) {
+        table.newSearch();
+        for (Searcher searcher : searchers) {
+            searcher.reset();
+        }
+
+        // Luồng phụ không có giới hạn độ sâu hay số nút, chỉ dừng theo thời gian hoặc khi luồng chính xong
+        SearchLimits helperLimits = new SearchLimits(0, limits.timeMillis(), 0);
+        List<Future<SearchResult>> futures = new ArrayList<>(searchers.length - 1);
+        for (int i = 1; i < searchers.length; i++) {
+            Searcher helper = searchers[i];
+            int startDepth = 1 + (i & 1);
+            futures.add(helpers.submit(() -> helper.iterate(root, helperLimits, startDepth)));
+        }
+
+        SearchResult best = searchers[0].iterate(root, limits, 1);
+        for (int i = 1; i < searchers.length; i++) {
+            searchers[i].stop();
+        }
+
+        long nodes = best.nodes();
+        for (Future<SearchResult> future : futures) {
+            SearchResult result = await(future);
+            nodes += result.nodes();
+            if (result.depth() > best.depth() && result.bestMove() != Moves.NONE) {
+                best = result;
+            }
+        }
+        return new SearchResult(best.bestMove(), best.score(), best.depth(), nodes, best.timeMillis());
+    }
+
+    public void stop() {
+        for (Searcher searcher : searchers) {
+            searcher.stop();
+        }
+    }
+
+    public void close() {
+        stop();
+        if (helpers != null) {
+            helpers.shutdownNow();
+        }
+    }
+
+    private static SearchResult await(Future<SearchResult> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for search helper", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Search helper failed", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.minhduc5a12.chess.engine.search;
+
+import com.minhduc5a12.chess.constants.PieceValue;
+import com.minhduc5a12.chess.core.MoveGenerator;
+import com.minhduc5a12.chess.core.MoveList;
+import com.minhduc5a12.chess.core.Moves;
+import com.minhduc5a12.chess.core.Piece;
+import com.minhduc5a12.chess.core.Position;
+
+/**
+ * Trả lần lượt các nước hợp lệ theo từng giai đoạn: nước trong bảng chuyển vị, nước ăn quân
+ * (và phong hậu) theo MVV-LVA, hai nước killer, nước đáp trả, các nước yên tĩnh theo điểm lịch sử,
+ * và cuối cùng các nước ăn quân bị {@link StaticExchange} đánh giá là thiệt.
+ * Ở chế độ tìm kiếm tĩnh chỉ trả các nước ăn quân không thiệt.
+ * <p>
+ * Bộ sinh nước sinh cả danh sách một lần, nên "theo giai đoạn" ở đây là chấm điểm và chọn:
+ * mỗi lần {@link #next()} chỉ quét tìm nước điểm cao nhất trong giai đoạn hiện tại, và nước yên tĩnh chỉ
+ * được chấm điểm khi tới giai đoạn của chúng. Nút bị cắt sớm không phải sắp xếp cả danh sách.
+ */
+final class MovePicker {
+    // Giá trị quân theo thứ tự PAWN, KNIGHT, BISHOP, ROOK, QUEEN, KING
+    private static final int[] VALUES = {
+            PieceValue.PAWN, PieceValue.KNIGHT, PieceValue.BISHOP, PieceValue.ROOK, PieceValue.QUEEN, PieceValue.KING
+    };
+
+    private static final int STAGE_TABLE_MOVE = 0;
+    private static final int STAGE_CAPTURES = 1;
+    private static final int STAGE_KILLER_1 = 2;
+    private static final int STAGE_KILLER_2 = 3;
+    private static final int STAGE_COUNTER_MOVE = 4;
+    private static final int STAGE_QUIETS = 5;
+    private static final int STAGE_BAD_CAPTURES = 6;
+    private static final int STAGE_DONE = 7;
+
+    private final MoveList moves = new MoveList();
+    private final int[] scores = new int[MoveList.CAPACITY];
+    private final int[] badCaptures = new int[MoveList.CAPACITY];
+    private final int[] exchangeGains = new int[StaticExchange.MAX_EXCHANGES];
+    private int badCaptureCount;
+    private int badCaptureIndex;
+    private boolean capturesOnly;
+    private Position position;
+    private History history;
+    private int ply;
+    private int stage;
+    private int index;
+    private int captureEnd;
+    private int tableMove;
+    private int killer1;
+    private int killer2;
+    private int counterMove;
+
+    void init(Position position, History history, int ply, int tableMove) {
+        init(position, history, ply, tableMove, false);
+    }
+
+    /**
+     * Chế độ tìm kiếm tĩnh: chỉ nước ăn quân và phong hậu, bỏ hẳn nước ăn quân thiệt.
+     */
+    void initQuiescence(Position position, History history, int ply) {
+        init(position, history, ply, Moves.NONE, true);
+    }
+
+    private void init(Position position, History history, int ply, int tableMove, boolean capturesOnly) {
+        this.position = position;
+        this.capturesOnly = capturesOnly;
+        this.history = history;
+        this.ply = ply;
+        MoveGenerator.generateLegal(position, moves);
+
+        // Dồn nước ăn quân và phong hậu lên đầu danh sách, chấm điểm MVV-LVA ngay khi dồn
+        captureEnd = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            if (isTactical(move)) {
+                moves.set(i, moves.get(captureEnd));
+                moves.set(captureEnd, move);
+                scores[captureEnd++] = mvvLva(move);
+            }
+        }
+
+        this.tableMove = contains(tableMove, 0, moves.size()) ? tableMove : Moves.NONE;
+        killer1 = Moves.NONE;
+        killer2 = Moves.NONE;
+        counterMove = Moves.NONE;
+        badCaptureCount = 0;
+        badCaptureIndex = 0;
+        stage = STAGE_TABLE_MOVE;
+        index = 0;
+    }
+
+    int size() {
+        return moves.size();
+    }
+
+    /**
+     * @return Nước tiếp theo, hoặc {@link Moves#NONE} khi đã hết.
+     */
+    int next() {
+        while (true) {
+            switch (stage) {
+                case STAGE_TABLE_MOVE -> {
+                    stage = STAGE_CAPTURES;
+                    if (tableMove != Moves.NONE) {
+                        return tableMove;
+                    }
+                }
+                case STAGE_CAPTURES -> {
+                    int move = pickBest(captureEnd);
+                    if (move == Moves.NONE) {
+                        stage = capturesOnly ? STAGE_DONE : STAGE_KILLER_1;
+                    } else if (isLosingCapture(move)) {
+                        badCaptures[badCaptureCount++] = move;
+                    } else {
+                        return move;
+                    }
+                }
+                case STAGE_KILLER_1 -> {
+                    stage = STAGE_KILLER_2;
+                    killer1 = quietOrNone(history.killer(ply, 0));
+                    if (killer1 != Moves.NONE) {
+                        return killer1;
+                    }
+                }
+                case STAGE_KILLER_2 -> {
+                    stage = STAGE_COUNTER_MOVE;
+                    killer2 = quietOrNone(history.killer(ply, 1));
+                    if (killer2 != Moves.NONE) {
+                        return killer2;
+                    }
+                }
+                case STAGE_COUNTER_MOVE -> {
+                    stage = STAGE_QUIETS;
+                    counterMove = quietOrNone(history.counterMove(position));
+                    if (counterMove == killer1 || counterMove == killer2) {
+                        counterMove = Moves.NONE;
+                    }
+                    int color = position.getSideToMove();
+                    for (int i = captureEnd; i < moves.size(); i++) {
+                        scores[i] = history.score(color, moves.get(i));
+                    }
+                    index = captureEnd;
+                    if (counterMove != Moves.NONE) {
+                        return counterMove;
+                    }
+                }
+                case STAGE_QUIETS -> {
+                    int move = pickBest(moves.size());
+                    if (move != Moves.NONE) {
+                        return move;
+                    }
+                    stage = STAGE_BAD_CAPTURES;
+                }
+                case STAGE_BAD_CAPTURES -> {
+                    if (badCaptureIndex < badCaptureCount) {
+                        return badCaptures[badCaptureIndex++];
+                    }
+                    stage = STAGE_DONE;
+                }
+                default -> {
+                    return Moves.NONE;
+                }
+            }
+        }
+    }
+
+    // Chọn nước điểm cao nhất trong [index, end), bỏ qua các nước đã trả ở giai đoạn trước
+    private int pickBest(int end) {
+        while (index < end) {
+            int best = index;
+            for (int i = index + 1; i < end; i++) {
+                if (scores[i] > scores[best]) {
+                    best = i;
+                }
+            }
+            int move = moves.get(best);
+            moves.set(best, moves.get(index));
+            scores[best] = scores[index];
+            moves.set(index, move);
+            index++;
+            if (move != tableMove && move != killer1 && move != killer2 && move != counterMove) {
+                return move;
+            }
+        }
+        return Moves.NONE;
+    }
+
+    // Quân ăn không đắt hơn quân bị ăn thì chắc chắn không thiệt, khỏi tính SEE
+    private boolean isLosingCapture(int move) {
+        if (!Moves.isCapture(move) || Moves.isEnPassant(move)) {
+            return false;
+        }
+        int attacker = Piece.type(position.pieceAt(Moves.from(move)));
+        int victim = Piece.type(position.pieceAt(Moves.to(move)));
+        return VALUES[attacker] > VALUES[victim] && StaticExchange.evaluate(position, move, exchangeGains) < 0;
+    }
+
+    private int quietOrNone(int move) {
+        if (move == Moves.NONE || move == tableMove || move == killer1 || !contains(move, captureEnd, moves.size())) {
+            return Moves.NONE;
+        }
+        return move;
+    }
+
+    private boolean contains(int move, int from, int to) {
+        if (move == Moves.NONE) {
+            return false;
+        }
+        for (int i = from; i < to; i++) {
+            if (moves.get(i) == move) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static boolean isTactical(int move) {
+        return Moves.isCapture(move) || Moves.promotionType(move) == Piece.QUEEN;
+    }
+
+    // Nạn nhân giá trị cao nhất trước, cùng nạn nhân thì quân tấn công rẻ hơn trước
+    private int mvvLva(int move) {
+        int attacker = Piece.type(position.pieceAt(Moves.from(move)));
+        int victim = Moves.isEnPassant(move) ? Piece.PAWN : Piece.type(position.pieceAt(Moves.to(move)));
+        int score = Moves.isCapture(move) ? VALUES[victim] * 10000 - VALUES[attacker] : 0;
+        if (Moves.isPromotion(move)) {
+            score += VALUES[Piece.QUEEN] * 10000;
+        }
+        return score;
+    }
+}
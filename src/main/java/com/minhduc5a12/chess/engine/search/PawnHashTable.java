@@ -0,0 +1,94 @@
+package com.minhduc5a12.chess.engine.search;
+
+import com.minhduc5a12.chess.core.Piece;
+import com.minhduc5a12.chess.core.Position;
+
+import java.util.Arrays;
+
+/**
+ * Bảng băm cấu trúc tốt, tra theo {@link Position#getPawnKey()}. Tốt ít khi di chuyển nên phần lớn
+ * các nút trong cây tìm kiếm dùng lại được điểm đã tính. Lá chắn tốt phụ thuộc thêm vào vị trí vua,
+ * nên được lưu kèm ô của hai vua và chỉ tính lại khi vua đổi chỗ.
+ * Mỗi {@link Searcher} giữ một bảng riêng nên không cần đồng bộ.
+ */
+public class PawnHashTable {
+    public static final int DEFAULT_ENTRIES = 1 << 14;
+
+    private final long[] keys;
+    private final int[] structures;
+    private final int[] kings;
+    private final int[] shields;
+    private final int mask;
+    private long probes;
+    private long hits;
+
+    public PawnHashTable() {
+        this(DEFAULT_ENTRIES);
+    }
+
+    /**
+     * @param entries Số mục, làm tròn xuống lũy thừa 2.
+     */
+    public PawnHashTable(int entries) {
+        if (entries < 1) {
+            throw new IllegalArgumentException("Pawn hash size must be positive: " + entries);
+        }
+        int size = Integer.highestOneBit(entries);
+        this.keys = new long[size];
+        this.structures = new int[size];
+        this.kings = new int[size];
+        this.shields = new int[size];
+        this.mask = size - 1;
+        clear();
+    }
+
+    /**
+     * Mục trống có khóa 0 và điểm 0, trùng với thế không còn tốt nào, nên không cần cờ đánh dấu mục hợp lệ.
+     * Ô vua được đặt -1 để lần tra đầu tiên luôn tính lá chắn.
+     */
+    public void clear() {
+        Arrays.fill(keys, 0L);
+        Arrays.fill(structures, 0);
+        Arrays.fill(kings, -1);
+        Arrays.fill(shields, 0);
+    }
+
+    /**
+     * @return Điểm tốt đã nén (trung cuộc, tàn cuộc), dương nghiêng về bên trắng.
+     */
+    public int probe(Position position) {
+        long key = position.getPawnKey();
+        int index = (int) key & mask;
+        probes++;
+        if (keys[index] == key) {
+            hits++;
+        } else {
+            keys[index] = key;
+            structures[index] = PawnStructure.evaluate(position);
+            kings[index] = -1;
+        }
+        int kingSquares = position.kingSquare(Piece.WHITE) | position.kingSquare(Piece.BLACK) << 6;
+        if (kings[index] != kingSquares) {
+            kings[index] = kingSquares;
+            shields[index] = PawnStructure.shields(position);
+        }
+        return structures[index] + shields[index];
+    }
+
+    public long getProbes() {
+        return probes;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public double getHitRate() {
+        return probes == 0 ? 0.0 : (double) hits / probes;
+    }
+
+    public void resetStatistics() {
+        probes = 0;
+        hits = 0;
+    }
+}
@@ -0,0 +1,142 @@
+package com.minhduc5a12.chess.engine.search;
+
+import com.minhduc5a12.chess.core.Attacks;
+import com.minhduc5a12.chess.core.Piece;
+import com.minhduc5a12.chess.core.PieceSquareTable;
+import com.minhduc5a12.chess.core.Position;
+import com.minhduc5a12.chess.core.Square;
+
+/**
+ * Các thành phần đánh giá chỉ phụ thuộc vào vị trí tốt (tốt thông, cô lập, chồng, lạc hậu)
+ * và lá chắn tốt trước vua. Điểm được nén như {@link PieceSquareTable}, dương nghiêng về bên trắng.
+ * Kết quả được {@link PawnHashTable} lưu lại nên không cần tính nhanh.
+ */
+public final class PawnStructure {
+    private static final int[] PASSED_MG = {0, 5, 10, 15, 25, 45, 70, 0};
+    private static final int[] PASSED_EG = {0, 10, 15, 25, 45, 80, 120, 0};
+    private static final int ISOLATED = PieceSquareTable.pack(-10, -15);
+    private static final int DOUBLED = PieceSquareTable.pack(-10, -20);
+    private static final int BACKWARD = PieceSquareTable.pack(-8, -10);
+    private static final int SHIELD_NEAR = 15;
+    private static final int SHIELD_FAR = 8;
+    private static final int SHIELD_MISSING = -15;
+
+    private static final long[] ADJACENT_FILES = new long[8];
+    // Các ô cùng cột phía trước tốt, theo hướng đi của từng bên
+    private static final long[][] FRONT = new long[2][64];
+    // Các ô phía trước trên cột của tốt và hai cột kề: không có tốt đối phương ở đây thì là tốt thông
+    private static final long[][] PASSED = new long[2][64];
+    // Các ô trên hai cột kề không ở phía trước tốt: tốt phe mình ở đây còn có thể đỡ nó
+    private static final long[][] SUPPORT = new long[2][64];
+
+    static {
+        for (int file = 0; file < 8; file++) {
+            if (file > 0) {
+                ADJACENT_FILES[file] |= 0x0101010101010101L << (file - 1);
+            }
+            if (file < 7) {
+                ADJACENT_FILES[file] |= 0x0101010101010101L << (file + 1);
+            }
+        }
+        for (int square = 0; square < 64; square++) {
+            int file = Square.file(square);
+            int rank = Square.rank(square);
+            for (int other = 0; other < 64; other++) {
+                int otherFile = Square.file(other);
+                int otherRank = Square.rank(other);
+                long bit = Square.bit(other);
+                boolean near = Math.abs(otherFile - file) <= 1;
+                boolean adjacent = Math.abs(otherFile - file) == 1;
+                if (near && otherRank > rank) {
+                    PASSED[Piece.WHITE][square] |= bit;
+                    if (otherFile == file) {
+                        FRONT[Piece.WHITE][square] |= bit;
+                    }
+                }
+                if (near && otherRank < rank) {
+                    PASSED[Piece.BLACK][square] |= bit;
+                    if (otherFile == file) {
+                        FRONT[Piece.BLACK][square] |= bit;
+                    }
+                }
+                if (adjacent && otherRank <= rank) {
+                    SUPPORT[Piece.WHITE][square] |= bit;
+                }
+                if (adjacent && otherRank >= rank) {
+                    SUPPORT[Piece.BLACK][square] |= bit;
+                }
+            }
+        }
+    }
+
+    private PawnStructure() {
+        throw new AssertionError("Cannot instantiate PawnStructure class");
+    }
+
+    /**
+     * @return Điểm cấu trúc tốt trắng trừ đen, chỉ phụ thuộc vào {@link Position#getPawnKey()}.
+     */
+    public static int evaluate(Position position) {
+        return evaluate(position, Piece.WHITE) - evaluate(position, Piece.BLACK);
+    }
+
+    /**
+     * @return Điểm lá chắn tốt trắng trừ đen (chỉ trung cuộc), phụ thuộc thêm vào vị trí hai vua.
+     */
+    public static int shields(Position position) {
+        return PieceSquareTable.pack(shield(position, Piece.WHITE) - shield(position, Piece.BLACK), 0);
+    }
+
+    private static int evaluate(Position position, int color) {
+        long pawns = position.bitboard(color, Piece.PAWN);
+        long enemyPawns = position.bitboard(color ^ 1, Piece.PAWN);
+        int score = 0;
+        for (long remaining = pawns; remaining != 0; remaining &= remaining - 1) {
+            int square = Long.numberOfTrailingZeros(remaining);
+            boolean doubled = (pawns & FRONT[color][square]) != 0;
+            if (doubled) {
+                score += DOUBLED;
+            } else if ((enemyPawns & PASSED[color][square]) == 0) {
+                int rank = relativeRank(color, square);
+                score += PieceSquareTable.pack(PASSED_MG[rank], PASSED_EG[rank]);
+            }
+            if ((pawns & ADJACENT_FILES[Square.file(square)]) == 0) {
+                score += ISOLATED;
+            } else if ((pawns & SUPPORT[color][square]) == 0) {
+                // Không còn tốt kề nào đỡ được, và ô phía trước bị tốt đối phương khống chế
+                int stop = color == Piece.WHITE ? square + 8 : square - 8;
+                if ((Attacks.pawn(color, stop) & enemyPawns) != 0) {
+                    score += BACKWARD;
+                }
+            }
+        }
+        return score;
+    }
+
+    // Chỉ tính khi vua còn ở hai hàng cuối, vua đã ra giữa bàn thì lá chắn không còn ý nghĩa
+    private static int shield(Position position, int color) {
+        int king = position.kingSquare(color);
+        if (king == Square.NONE || relativeRank(color, king) > 1) {
+            return 0;
+        }
+        long pawns = position.bitboard(color, Piece.PAWN);
+        int forward = color == Piece.WHITE ? 8 : -8;
+        int kingFile = Square.file(king);
+        int score = 0;
+        for (int file = Math.max(0, kingFile - 1); file <= Math.min(7, kingFile + 1); file++) {
+            int near = king + forward + file - kingFile;
+            if ((pawns & Square.bit(near)) != 0) {
+                score += SHIELD_NEAR;
+            } else if ((pawns & Square.bit(near + forward)) != 0) {
+                score += SHIELD_FAR;
+            } else {
+                score += SHIELD_MISSING;
+            }
+        }
+        return score;
+    }
+
+    private static int relativeRank(int color, int square) {
+        return color == Piece.WHITE ? Square.rank(square) : 7 - Square.rank(square);
+    }
+}
@@ -0,0 +1,77 @@
+package com.minhduc5a12.chess.engine.search;
+
+import com.minhduc5a12.chess.core.Moves;
+import com.minhduc5a12.chess.core.Piece;
+import com.minhduc5a12.chess.core.Position;
+import com.minhduc5a12.chess.engine.ChessEngine;
+import com.minhduc5a12.chess.engine.EngineClock;
+import com.minhduc5a12.chess.engine.TimePolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Máy chơi cờ chạy ngay trong JVM, không cần tiến trình Stockfish bên ngoài.
+ */
+public class SearchEngine implements ChessEngine {
+    private static final Logger logger = LoggerFactory.getLogger(SearchEngine.class);
+    private final TranspositionTable table;
+    private final LazySmpSearch searcher;
+    private final SearchLimits limits;
+    // Khác null thì giới hạn của mỗi lần tìm được tính lại theo đồng hồ
+    private final TimePolicy policy;
+
+    public SearchEngine(SearchLimits limits) {
+        this(limits, Searcher.DEFAULT_HASH_MB, 1);
+    }
+
+    public SearchEngine(SearchLimits limits, int hashMegabytes, int threads) {
+        this(limits, null, hashMegabytes, threads);
+    }
+
+    public SearchEngine(TimePolicy policy, int hashMegabytes, int threads) {
+        this(policy.toSearchLimits(null, Piece.WHITE), policy, hashMegabytes, threads);
+    }
+
+    private SearchEngine(SearchLimits limits, TimePolicy policy, int hashMegabytes, int threads) {
+        this.limits = limits;
+        this.policy = policy;
+        this.table = new TranspositionTable(hashMegabytes);
+        this.searcher = new LazySmpSearch(table, threads);
+    }
+
+    public SearchResult search(Position position) {
+        return searcher.search(position, limits);
+    }
+
+    @Override
+    public String bestMove(Position position) {
+        return bestMove(position, limits);
+    }
+
+    @Override
+    public CompletableFuture<String> bestMoveAsync(Position position, EngineClock clock, Executor executor) {
+        SearchLimits searchLimits = policy == null ? limits : policy.toSearchLimits(clock, position.getSideToMove());
+        return CompletableFuture.supplyAsync(() -> bestMove(position, searchLimits), executor);
+    }
+
+    private String bestMove(Position position, SearchLimits searchLimits) {
+        SearchResult result = searcher.search(position, searchLimits);
+        logger.info("Built-in search ({} threads): depth {} score {} nodes {} in {} ms, hash hit rate {}, pawn hit rate {}",
+                searcher.getThreads(), result.depth(), result.score(), result.nodes(), result.timeMillis(),
+                String.format("%.2f", table.getHitRate()), String.format("%.2f", searcher.getPawnHitRate()));
+        return result.bestMove() == Moves.NONE ? null : Moves.toUci(result.bestMove());
+    }
+
+    @Override
+    public void stop() {
+        searcher.stop();
+    }
+
+    @Override
+    public void close() {
+        searcher.close();
+    }
+}
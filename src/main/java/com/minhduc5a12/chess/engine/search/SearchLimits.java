@@ -0,0 +1,18 @@
+package com.minhduc5a12.chess.engine.search;
+
+/**
+ * Giới hạn cứng cho một lần tìm kiếm. Giá trị 0 nghĩa là không giới hạn theo tiêu chí đó.
+ *
+ * @param depth      Độ sâu tối đa (ply).
+ * @param timeMillis Thời gian tối đa, tính từ lúc bắt đầu tìm.
+ * @param nodes      Số nút tối đa.
+ */
+public record SearchLimits(int depth, long timeMillis, long nodes) {
+    public static SearchLimits ofTime(long timeMillis) {
+        return new SearchLimits(0, timeMillis, 0);
+    }
+
+    public static SearchLimits ofDepth(int depth) {
+        return new SearchLimits(depth, 0, 0);
+    }
+}
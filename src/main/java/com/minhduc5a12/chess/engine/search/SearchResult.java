@@ -0,0 +1,10 @@
+package com.minhduc5a12.chess.engine.search;
+
+/**
+ * Kết quả của vòng lặp sâu dần cuối cùng đã hoàn thành.
+ *
+ * @param bestMove Nước đi dạng {@code int}, {@link com.minhduc5a12.chess.core.Moves#NONE} nếu không có nước hợp lệ.
+ * @param score    Điểm theo centipawn, nhìn từ phía bên đi.
+ */
+public record SearchResult(int bestMove, int score, int depth, long nodes, long timeMillis) {
+}
@@ -0,0 +1,292 @@
+package com.minhduc5a12.chess.engine.search;
+
+import com.minhduc5a12.chess.core.MoveGenerator;
+import com.minhduc5a12.chess.core.MoveList;
+import com.minhduc5a12.chess.core.Moves;
+import com.minhduc5a12.chess.core.Position;
+import com.minhduc5a12.chess.engine.bitbase.Bitbases;
+
+/**
+ * Negamax alpha-beta với sâu dần (iterative deepening). Giới hạn thời gian và số nút là giới hạn cứng:
+ * khi vượt quá, vòng lặp đang dở bị bỏ và trả về kết quả của vòng cuối đã hoàn thành.
+ * Không an toàn khi dùng chung giữa nhiều luồng; mỗi luồng cần một {@code Searcher} riêng,
+ * còn {@link TranspositionTable} thì dùng chung được.
+ */
+public class Searcher {
+    public static final int INFINITY = 32000;
+    public static final int MATE = 31000;
+    // Thế đã biết thắng nhờ bitbase: hơn mọi điểm đánh giá thường, thua mọi điểm chiếu hết
+    public static final int KNOWN_WIN = 10000;
+    public static final int MAX_PLY = 128;
+    public static final int DEFAULT_HASH_MB = 16;
+
+    // Chỉ đọc đồng hồ sau mỗi ngần này nút
+    private static final int CHECK_INTERVAL = 1023;
+
+    private final MoveList rootMoves = new MoveList();
+    private final MovePicker[] pickers = new MovePicker[MAX_PLY + 1];
+    private final int[][] triedQuiets = new int[MAX_PLY + 1][MoveList.CAPACITY];
+    private final History history = new History();
+    private final PawnHashTable pawnTable = new PawnHashTable();
+    private final TranspositionTable table;
+    private final Bitbases bitbases;
+    private Position position;
+    private long nodes;
+    private long maxNodes;
+    private long deadline;
+    private volatile boolean stopped;
+
+    public Searcher() {
+        this(new TranspositionTable(DEFAULT_HASH_MB));
+    }
+
+    public Searcher(TranspositionTable table) {
+        this(table, Bitbases.getDefault());
+    }
+
+    public Searcher(TranspositionTable table, Bitbases bitbases) {
+        this.table = table;
+        this.bitbases = bitbases;
+        for (int i = 0; i < pickers.length; i++) {
+            pickers[i] = new MovePicker();
+        }
+    }
+
+    public SearchResult search(Position root, SearchLimits limits) {
+        stopped = false;
+        table.newSearch();
+        return iterate(root, limits, 1);
+    }
+
+    /**
+     * Vòng sâu dần bắt đầu từ {@code startDepth}. Không xóa cờ dừng và không tăng tuổi bảng,
+     * để {@link LazySmpSearch} điều phối nhiều luồng trên cùng một lần tìm.
+     */
+    SearchResult iterate(Position root, SearchLimits limits, int startDepth) {
+        long start = System.nanoTime();
+        position = new Position(root);
+        nodes = 0;
+        maxNodes = limits.nodes() > 0 ? limits.nodes() : Long.MAX_VALUE;
+        deadline = limits.timeMillis() > 0 ? start + limits.timeMillis() * 1_000_000L : Long.MAX_VALUE;
+        int maxDepth = limits.depth() > 0 ? Math.min(limits.depth(), MAX_PLY) : MAX_PLY;
+        history.newSearch();
+
+        MoveGenerator.generateLegal(position, rootMoves);
+        long rootEntry = table.probe(position.getKey());
+        if (rootEntry != 0) {
+            moveToFront(rootMoves, TranspositionTable.move(rootEntry));
+        }
+        int bestMove = rootMoves.isEmpty() ? Moves.NONE : rootMoves.get(0);
+        int bestScore = 0;
+        int completedDepth = 0;
+
+        for (int depth = startDepth; depth <= maxDepth && !rootMoves.isEmpty(); depth++) {
+            int alpha = -INFINITY;
+            int iterationBest = Moves.NONE;
+            for (int i = 0; i < rootMoves.size(); i++) {
+                int move = rootMoves.get(i);
+                position.makeMove(move);
+                int score = -negamax(depth - 1, 1, -INFINITY, -alpha);
+                position.unmakeMove();
+                if (stopped) {
+                    break;
+                }
+                if (score > alpha) {
+                    alpha = score;
+                    iterationBest = move;
+                }
+            }
+            if (stopped) {
+                break;
+            }
+            bestMove = iterationBest;
+            bestScore = alpha;
+            completedDepth = depth;
+            table.store(position.getKey(), bestMove, scoreToTable(bestScore, 0), depth, TranspositionTable.EXACT);
+            moveToFront(rootMoves, bestMove);
+            if (Math.abs(bestScore) >= MATE - MAX_PLY) {
+                break;
+            }
+        }
+        return new SearchResult(bestMove, bestScore, completedDepth, nodes, (System.nanoTime() - start) / 1_000_000L);
+    }
+
+    /**
+     * Dừng lần tìm đang chạy từ luồng khác; {@link #search} trả về kết quả của vòng đã hoàn thành.
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    void reset() {
+        stopped = false;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    public PawnHashTable getPawnTable() {
+        return pawnTable;
+    }
+
+    private int negamax(int depth, int ply, int alpha, int beta) {
+        if ((++nodes & CHECK_INTERVAL) == 0 && (nodes >= maxNodes || System.nanoTime() >= deadline)) {
+            stopped = true;
+        }
+        if (stopped) {
+            return 0;
+        }
+        if (position.getHalfmoveClock() >= 100 || position.repetitionCount() > 0) {
+            return 0;
+        }
+        if (ply > 0 && bitbases.probe(position) == Bitbases.DRAW) {
+            return 0;
+        }
+        if (depth == 0 || ply >= MAX_PLY) {
+            return quiescence(ply, alpha, beta);
+        }
+
+        long key = position.getKey();
+        long entry = table.probe(key);
+        int tableMove = Moves.NONE;
+        if (entry != 0) {
+            tableMove = TranspositionTable.move(entry);
+            if (TranspositionTable.depth(entry) >= depth) {
+                int score = scoreFromTable(TranspositionTable.score(entry), ply);
+                int bound = TranspositionTable.bound(entry);
+                if (bound == TranspositionTable.EXACT
+                        || (bound == TranspositionTable.LOWER && score >= beta)
+                        || (bound == TranspositionTable.UPPER && score <= alpha)) {
+                    return score;
+                }
+            }
+        }
+
+        MovePicker picker = pickers[ply];
+        picker.init(position, history, ply, tableMove);
+        if (picker.size() == 0) {
+            return position.isInCheck(position.getSideToMove()) ? -MATE + ply : 0;
+        }
+
+        int originalAlpha = alpha;
+        int bestMove = Moves.NONE;
+        int quietCount = 0;
+        for (int move = picker.next(); move != Moves.NONE; move = picker.next()) {
+            position.makeMove(move);
+            int score = -negamax(depth - 1, ply + 1, -beta, -alpha);
+            position.unmakeMove();
+            if (stopped) {
+                return 0;
+            }
+            if (score >= beta) {
+                if (!MovePicker.isTactical(move)) {
+                    history.update(position, ply, depth, move, triedQuiets[ply], quietCount);
+                }
+                table.store(key, move, scoreToTable(beta, ply), depth, TranspositionTable.LOWER);
+                return beta;
+            }
+            if (score > alpha) {
+                alpha = score;
+                bestMove = move;
+            }
+            if (!MovePicker.isTactical(move)) {
+                triedQuiets[ply][quietCount++] = move;
+            }
+        }
+        table.store(key, bestMove, scoreToTable(alpha, ply), depth,
+                alpha > originalAlpha ? TranspositionTable.EXACT : TranspositionTable.UPPER);
+        return alpha;
+    }
+
+    /**
+     * Tìm kiếm tĩnh ở chân cây: chỉ xét nước ăn quân và phong hậu không thiệt cho tới khi thế cờ yên,
+     * bên đi luôn có quyền "đứng yên" với điểm đánh giá tĩnh. Khi đang bị chiếu thì phải xét mọi nước thoát.
+     */
+    private int quiescence(int ply, int alpha, int beta) {
+        if ((++nodes & CHECK_INTERVAL) == 0 && (nodes >= maxNodes || System.nanoTime() >= deadline)) {
+            stopped = true;
+        }
+        if (stopped) {
+            return 0;
+        }
+        boolean inCheck = position.isInCheck(position.getSideToMove());
+        if (ply >= MAX_PLY) {
+            return inCheck ? 0 : evaluate();
+        }
+
+        MovePicker picker = pickers[ply];
+        if (inCheck) {
+            picker.init(position, history, ply, Moves.NONE);
+            if (picker.size() == 0) {
+                return -MATE + ply;
+            }
+        } else {
+            int standPat = evaluate();
+            if (standPat >= beta) {
+                return standPat;
+            }
+            alpha = Math.max(alpha, standPat);
+            picker.initQuiescence(position, history, ply);
+        }
+
+        for (int move = picker.next(); move != Moves.NONE; move = picker.next()) {
+            position.makeMove(move);
+            int score = -quiescence(ply + 1, -beta, -alpha);
+            position.unmakeMove();
+            if (stopped) {
+                return 0;
+            }
+            if (score >= beta) {
+                return score;
+            }
+            alpha = Math.max(alpha, score);
+        }
+        return alpha;
+    }
+
+    // Thế thắng theo bitbase vẫn được tìm tiếp, phần điểm dồn vua giúp tìm ra đường thắng
+    private int evaluate() {
+        int score = Evaluator.evaluate(position, pawnTable);
+        int us = position.getSideToMove();
+        return switch (bitbases.probe(position)) {
+            case Bitbases.WIN -> KNOWN_WIN + score + Evaluator.mopUp(position, us);
+            case Bitbases.LOSS -> -KNOWN_WIN + score - Evaluator.mopUp(position, us ^ 1);
+            case Bitbases.DRAW -> 0;
+            default -> score;
+        };
+    }
+
+    // Điểm chiếu hết trong bảng lưu theo khoảng cách tới nút đang xét, không phải tới gốc
+    private static int scoreToTable(int score, int ply) {
+        if (score >= MATE - MAX_PLY) {
+            return score + ply;
+        }
+        if (score <= -MATE + MAX_PLY) {
+            return score - ply;
+        }
+        return score;
+    }
+
+    private static int scoreFromTable(int score, int ply) {
+        if (score >= MATE - MAX_PLY) {
+            return score - ply;
+        }
+        if (score <= -MATE + MAX_PLY) {
+            return score + ply;
+        }
+        return score;
+    }
+
+    private static void moveToFront(MoveList moves, int move) {
+        for (int i = 0; i < moves.size(); i++) {
+            if (moves.get(i) == move) {
+                for (int j = i; j > 0; j--) {
+                    moves.set(j, moves.get(j - 1));
+                }
+                moves.set(0, move);
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.minhduc5a12.chess.engine.search;
+
+import com.minhduc5a12.chess.core.Moves;
+import com.minhduc5a12.chess.core.Piece;
+import com.minhduc5a12.chess.core.Position;
+
+/**
+ * Đánh giá trao đổi tĩnh (SEE): kết quả vật chất của chuỗi ăn qua lại trên ô đích của một nước đi,
+ * mỗi bên luôn dùng quân rẻ nhất và được quyền dừng khi ăn tiếp không có lợi.
+ * Quân bị ghim không được xét riêng; tia X (xe sau xe, hậu sau tượng...) được mở ra bằng cách
+ * bỏ quân vừa ăn khỏi tập ô bị chiếm rồi hỏi lại {@link Position#attackersTo}.
+ */
+final class StaticExchange {
+    // Vua đắt tới mức ăn bằng vua vào ô còn bị tấn công không bao giờ có lợi
+    private static final int[] VALUES = {100, 320, 330, 500, 900, 20000};
+    // Mỗi quân ăn nhiều nhất một lần trong chuỗi nên 32 phần tử là đủ
+    static final int MAX_EXCHANGES = 32;
+
+    private StaticExchange() {
+        throw new AssertionError("Cannot instantiate StaticExchange class");
+    }
+
+    /**
+     * @param gain Bộ đệm tạm của người gọi, ít nhất {@link #MAX_EXCHANGES} phần tử.
+     * @return Số centipawn bên đi được lợi (âm nếu thiệt) sau chuỗi trao đổi bắt đầu bằng {@code move}.
+     */
+    static int evaluate(Position position, int move, int[] gain) {
+        if (Moves.isCastling(move)) {
+            return 0;
+        }
+        int from = Moves.from(move);
+        int to = Moves.to(move);
+
+        int attacker = Piece.type(position.pieceAt(from));
+        long occupied = position.occupied() ^ (1L << from);
+        if (Moves.isEnPassant(move)) {
+            gain[0] = VALUES[Piece.PAWN];
+            occupied ^= 1L << (Piece.color(position.pieceAt(from)) == Piece.WHITE ? to - 8 : to + 8);
+        } else {
+            gain[0] = Moves.isCapture(move) ? VALUES[Piece.type(position.pieceAt(to))] : 0;
+        }
+        if (Moves.isPromotion(move)) {
+            attacker = Moves.promotionType(move);
+            gain[0] += VALUES[attacker] - VALUES[Piece.PAWN];
+        }
+
+        int side = Piece.color(position.pieceAt(from)) ^ 1;
+        long attackers = position.attackersTo(to, occupied) & occupied;
+        int depth = 0;
+        while (true) {
+            long ours = attackers & position.occupancy(side);
+            if (ours == 0) {
+                break;
+            }
+            int type = Piece.PAWN;
+            long candidates = ours & position.bitboard(side, type);
+            while (candidates == 0) {
+                candidates = ours & position.bitboard(side, ++type);
+            }
+            depth++;
+            // Giá trị quân vừa ăn ở bước trước trừ đi phần lợi của đối phương tới thời điểm đó
+            gain[depth] = VALUES[attacker] - gain[depth - 1];
+            if (Math.max(-gain[depth - 1], gain[depth]) < 0) {
+                break;
+            }
+            occupied ^= Long.lowestOneBit(candidates);
+            attackers = position.attackersTo(to, occupied) & occupied;
+            attacker = type;
+            side ^= 1;
+        }
+        while (depth > 0) {
+            gain[depth - 1] = -Math.max(-gain[depth - 1], gain[depth]);
+            depth--;
+        }
+        return gain[0];
+    }
+}
@@ -0,0 +1,196 @@
+package com.minhduc5a12.chess.engine.search;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bảng chuyển vị kích thước cố định nằm ngoài heap (direct {@link ByteBuffer}), dùng chung giữa các luồng
+ * tìm kiếm mà không cần khóa.
+ * <p>
+ * Mỗi mục 16 byte gồm hai {@code long}: {@code key ^ data} và {@code data}. Hai luồng ghi cùng lúc có thể làm
+ * mục bị lẫn nửa này nửa kia, khi đó phép kiểm tra {@code stored ^ data == key} thất bại và mục bị bỏ qua.
+ * Bốn mục gom thành một bucket 64 byte (một cache line); khi bucket đầy, mục bị thay là mục nông nhất
+ * và cũ nhất theo tuổi của lần tìm.
+ * <p>
+ * Bố cục {@code data}: nước đi (16 bit), điểm (16 bit có dấu), độ sâu (8 bit), loại cận (2 bit), tuổi (6 bit).
+ * {@code data} của mục hợp lệ luôn khác 0 vì loại cận khác 0, nên 0 được dùng để báo không tìm thấy.
+ */
+public class TranspositionTable {
+    public static final int EXACT = 1;
+    public static final int LOWER = 2;
+    public static final int UPPER = 3;
+
+    private static final int ENTRY_BYTES = 16;
+    private static final int BUCKET_ENTRIES = 4;
+    private static final int BUCKET_BYTES = ENTRY_BYTES * BUCKET_ENTRIES;
+    // Mỗi ByteBuffer chỉ đánh chỉ số bằng int nên chia bảng lớn thành nhiều khối 1 GB
+    private static final int CHUNK_SHIFT = 30;
+    private static final long CHUNK_MASK = (1L << CHUNK_SHIFT) - 1;
+    private static final int AGE_MASK = 0x3F;
+
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private ByteBuffer[] chunks;
+    private long bucketMask;
+    private int age;
+
+    private final LongAdder probes = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+
+    public TranspositionTable(int megabytes) {
+        resize(megabytes);
+    }
+
+    /**
+     * Cấp phát lại bảng với số bucket là lũy thừa 2 lớn nhất vừa với {@code megabytes}. Xóa mọi mục cũ.
+     */
+    public void resize(int megabytes) {
+        if (megabytes < 1) {
+            throw new IllegalArgumentException("Hash size must be at least 1 MB: " + megabytes);
+        }
+        long buckets = Long.highestOneBit(((long) megabytes << 20) / BUCKET_BYTES);
+        long bytes = buckets * BUCKET_BYTES;
+        int chunkCount = (int) ((bytes + CHUNK_MASK) >>> CHUNK_SHIFT);
+        ByteBuffer[] newChunks = new ByteBuffer[chunkCount];
+        for (int i = 0; i < chunkCount; i++) {
+            long size = Math.min(bytes - ((long) i << CHUNK_SHIFT), 1L << CHUNK_SHIFT);
+            newChunks[i] = ByteBuffer.allocateDirect((int) size).order(ByteOrder.nativeOrder());
+        }
+        chunks = newChunks;
+        bucketMask = buckets - 1;
+        age = 0;
+        resetStatistics();
+    }
+
+    public void clear() {
+        for (ByteBuffer chunk : chunks) {
+            for (int offset = 0; offset < chunk.capacity(); offset += Long.BYTES) {
+                LONGS.setOpaque(chunk, offset, 0L);
+            }
+        }
+        age = 0;
+        resetStatistics();
+    }
+
+    /**
+     * Gọi một lần trước mỗi lần tìm mới để các mục của lần trước được ưu tiên thay thế.
+     */
+    public void newSearch() {
+        age = (age + 1) & AGE_MASK;
+    }
+
+    /**
+     * @return {@code data} của mục khớp khóa, hoặc 0 nếu không có.
+     */
+    public long probe(long key) {
+        probes.increment();
+        long bucket = (key & bucketMask) * BUCKET_BYTES;
+        ByteBuffer chunk = chunks[(int) (bucket >>> CHUNK_SHIFT)];
+        int base = (int) (bucket & CHUNK_MASK);
+        for (int i = 0; i < BUCKET_ENTRIES; i++) {
+            int offset = base + i * ENTRY_BYTES;
+            long data = (long) LONGS.getOpaque(chunk, offset + Long.BYTES);
+            if (data != 0 && ((long) LONGS.getOpaque(chunk, offset) ^ data) == key) {
+                hits.increment();
+                return data;
+            }
+        }
+        return 0L;
+    }
+
+    public void store(long key, int move, int score, int depth, int bound) {
+        long bucket = (key & bucketMask) * BUCKET_BYTES;
+        ByteBuffer chunk = chunks[(int) (bucket >>> CHUNK_SHIFT)];
+        int base = (int) (bucket & CHUNK_MASK);
+
+        int target = base;
+        int worstValue = Integer.MAX_VALUE;
+        for (int i = 0; i < BUCKET_ENTRIES; i++) {
+            int offset = base + i * ENTRY_BYTES;
+            long data = (long) LONGS.getOpaque(chunk, offset + Long.BYTES);
+            if (data == 0 || ((long) LONGS.getOpaque(chunk, offset) ^ data) == key) {
+                // Cùng thế cờ: giữ lại nước đi cũ nếu lần này không tìm được nước nào
+                if (data != 0 && move == 0) {
+                    move = move(data);
+                }
+                target = offset;
+                break;
+            }
+            int ageDistance = (age - age(data)) & AGE_MASK;
+            int value = depth(data) - 8 * ageDistance;
+            if (value < worstValue) {
+                worstValue = value;
+                target = offset;
+            }
+        }
+
+        long data = (move & 0xFFFFL)
+                | ((score & 0xFFFFL) << 16)
+                | ((long) (depth & 0xFF) << 32)
+                | ((long) bound << 40)
+                | ((long) age << 42);
+        LONGS.setOpaque(chunk, target, key ^ data);
+        LONGS.setOpaque(chunk, target + Long.BYTES, data);
+    }
+
+    public static int move(long data) {
+        return (int) (data & 0xFFFF);
+    }
+
+    public static int score(long data) {
+        return (short) (data >>> 16);
+    }
+
+    public static int depth(long data) {
+        return (int) ((data >>> 32) & 0xFF);
+    }
+
+    public static int bound(long data) {
+        return (int) ((data >>> 40) & 0x3);
+    }
+
+    private static int age(long data) {
+        return (int) ((data >>> 42) & AGE_MASK);
+    }
+
+    public long getProbes() {
+        return probes.sum();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public double getHitRate() {
+        long total = probes.sum();
+        return total == 0 ? 0.0 : (double) hits.sum() / total;
+    }
+
+    public void resetStatistics() {
+        probes.reset();
+        hits.reset();
+    }
+
+    /**
+     * @return Phần nghìn số mục trong 1000 bucket đầu được ghi ở lần tìm hiện tại, như {@code hashfull} của UCI.
+     */
+    public int hashfull() {
+        long buckets = Math.min(1000, bucketMask + 1);
+        int used = 0;
+        for (long b = 0; b < buckets; b++) {
+            long bucket = b * BUCKET_BYTES;
+            ByteBuffer chunk = chunks[(int) (bucket >>> CHUNK_SHIFT)];
+            int base = (int) (bucket & CHUNK_MASK);
+            for (int i = 0; i < BUCKET_ENTRIES; i++) {
+                long data = (long) LONGS.getOpaque(chunk, base + i * ENTRY_BYTES + Long.BYTES);
+                if (data != 0 && age(data) == age) {
+                    used++;
+                }
+            }
+        }
+        return (int) (used * 1000 / (buckets * BUCKET_ENTRIES));
+    }
+}
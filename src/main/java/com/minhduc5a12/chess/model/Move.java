@@ -1,9 +1,19 @@
 package com.minhduc5a12.chess.model;
 
+import com.minhduc5a12.chess.core.Moves;
+import com.minhduc5a12.chess.core.Square;
+
 public record Move(int startX, int startY, int endX, int endY) {
 
+    // Chuyển nước đi dạng int của bộ sinh nước sang tọa độ giao diện
+    public static Move of(int move) {
+        int from = Moves.from(move);
+        int to = Moves.to(move);
+        return new Move(Square.x(from), Square.y(from), Square.x(to), Square.y(to));
+    }
+
     @Override
     public String toString() {
         return "Move{" + "startX=" + startX + ", startY=" + startY + ", endX=" + endX + ", endY=" + endY + '}';
     }
-}
\ No newline at end of file
+}
@@ -1,46 +1,50 @@
 package com.minhduc5a12.chess.pieces;
 
-import com.minhduc5a12.chess.ChessTile;
-import com.minhduc5a12.chess.GameController;
 import com.minhduc5a12.chess.constants.PieceColor;
+import com.minhduc5a12.chess.core.MoveList;
+import com.minhduc5a12.chess.core.Moves;
+import com.minhduc5a12.chess.core.Piece;
+import com.minhduc5a12.chess.core.Position;
+import com.minhduc5a12.chess.core.Square;
 import com.minhduc5a12.chess.model.Move;
-import com.minhduc5a12.chess.utils.ImageLoader;
-
-import java.awt.*;
 
 public abstract class ChessPiece {
+    private static final String[] TYPE_NAMES = {"pawn", "knight", "bishop", "rook", "queen", "king"};
+
+    private static final ThreadLocal<MoveList> SCRATCH = ThreadLocal.withInitial(MoveList::new);
+
     private final PieceColor color;
+    private final int type;
     private final String imagePath;
-    private final Image image;
     private int pieceValue = 0;
-    private boolean hasMoved = false;
-    protected final GameController gameController;
 
-    public ChessPiece(PieceColor color, String imagePath, GameController gameController) {
+    protected ChessPiece(PieceColor color, int type) {
         this.color = color;
-        this.imagePath = imagePath;
-        this.image = ImageLoader.getImage(imagePath);
-        this.gameController = gameController;
+        this.type = type;
+        this.imagePath = "images/" + color.name().toLowerCase() + "_" + TYPE_NAMES[type] + ".png";
     }
 
-    public Image getImage() {
-        return image;
+    /**
+     * Quân cờ không giữ trạng thái riêng (vị trí, đã di chuyển...) nên mỗi mã quân chỉ cần một instance.
+     */
+    public static ChessPiece of(int piece) {
+        return Registry.PIECES[piece];
     }
 
     public PieceColor getColor() {
         return color;
     }
 
-    public String getImagePath() {
-        return imagePath;
+    public int getType() {
+        return type;
     }
 
-    public boolean hasMoved() {
-        return hasMoved;
+    public int getCode() {
+        return Piece.of(Piece.colorOf(color), type);
     }
 
-    public void setHasMoved(boolean hasMoved) {
-        this.hasMoved = hasMoved;
+    public String getImagePath() {
+        return imagePath;
     }
 
     public void setPieceValue(int value) {
@@ -51,12 +55,47 @@ public abstract class ChessPiece {
         return pieceValue;
     }
 
-    public abstract java.util.List<Move> generateValidMoves(int startX, int startY, ChessTile[][] board);
+    /**
+     * Nối các nước đi giả hợp lệ của quân tại ô {@code from} vào {@code moves}.
+     */
+    public abstract void generateMoves(int from, Position position, MoveList moves);
+
+    public java.util.List<Move> generateValidMoves(int startX, int startY, Position position) {
+        MoveList moves = SCRATCH.get();
+        moves.clear();
+        generateMoves(Square.of(startX, startY), position, moves);
+        java.util.List<Move> validMoves = new java.util.ArrayList<>(moves.size());
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            // Giao diện chỉ cần một nước cho mỗi ô đến, loại quân phong cấp được chọn sau
+            if (Moves.promotionType(move) == Piece.NONE || Moves.promotionType(move) == Piece.QUEEN) {
+                validMoves.add(Move.of(move));
+            }
+        }
+        return validMoves;
+    }
 
-    public boolean isValidMove(int startX, int startY, int endX, int endY, ChessTile[][] board) {
-        java.util.List<Move> validMoves = generateValidMoves(startX, startY, board);
-        Move currentMove = new Move(startX, startY, endX, endY);
-        return validMoves.contains(currentMove);
+    public boolean isValidMove(int startX, int startY, int endX, int endY, Position position) {
+        MoveList moves = SCRATCH.get();
+        moves.clear();
+        int from = Square.of(startX, startY);
+        generateMoves(from, position, moves);
+        return moves.find(from, Square.of(endX, endY)) != Moves.NONE;
     }
 
-}
\ No newline at end of file
+    private static final class Registry {
+        private static final ChessPiece[] PIECES = new ChessPiece[Piece.COUNT];
+
+        static {
+            for (PieceColor color : PieceColor.values()) {
+                int c = Piece.colorOf(color);
+                PIECES[Piece.of(c, Piece.PAWN)] = new Pawn(color);
+                PIECES[Piece.of(c, Piece.KNIGHT)] = new Knight(color);
+                PIECES[Piece.of(c, Piece.BISHOP)] = new Bishop(color);
+                PIECES[Piece.of(c, Piece.ROOK)] = new Rook(color);
+                PIECES[Piece.of(c, Piece.QUEEN)] = new Queen(color);
+                PIECES[Piece.of(c, Piece.KING)] = new King(color);
+            }
+        }
+    }
+}
@@ -1,35 +1,20 @@
 package com.minhduc5a12.chess.pieces;
 
-import com.minhduc5a12.chess.ChessTile;
-import com.minhduc5a12.chess.GameController;
-import com.minhduc5a12.chess.model.Move;
+import com.minhduc5a12.chess.core.MoveGenerator;
+import com.minhduc5a12.chess.core.MoveList;
+import com.minhduc5a12.chess.core.Piece;
+import com.minhduc5a12.chess.core.Position;
 import com.minhduc5a12.chess.constants.PieceColor;
-import com.minhduc5a12.chess.utils.BoardUtils;
-
-import java.util.ArrayList;
-import java.util.List;
 
 public class Knight extends ChessPiece {
 
-    public Knight(PieceColor color, String imagePath, GameController gameController) {
-        super(color, imagePath, gameController);
+    public Knight(PieceColor color) {
+        super(color, Piece.KNIGHT);
         this.setPieceValue(3);
     }
 
     @Override
-    public List<Move> generateValidMoves(int startX, int startY, ChessTile[][] board) {
-        List<Move> validMoves = new ArrayList<>();
-        int[][] moves = {{2, 1}, {2, -1}, {-2, 1}, {-2, -1}, {1, 2}, {1, -2}, {-1, 2}, {-1, -2}};
-        for (int[] move : moves) {
-            int newX = startX + move[0];
-            int newY = startY + move[1];
-            if (BoardUtils.isWithinBoard(newX, newY)) {
-                ChessPiece targetPiece = board[newY][newX].getPiece();
-                if (targetPiece == null || targetPiece.getColor() != getColor()) {
-                    validMoves.add(new Move(startX, startY, newX, newY));
-                }
-            }
-        }
-        return validMoves;
+    public void generateMoves(int from, Position position, MoveList moves) {
+        MoveGenerator.addKnightMoves(position, from, moves);
     }
-}
\ No newline at end of file
+}
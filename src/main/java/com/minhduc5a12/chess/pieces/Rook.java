@@ -1,41 +1,20 @@
 package com.minhduc5a12.chess.pieces;
 
-import com.minhduc5a12.chess.ChessTile;
-import com.minhduc5a12.chess.GameController;
-import com.minhduc5a12.chess.model.Move;
+import com.minhduc5a12.chess.core.MoveGenerator;
+import com.minhduc5a12.chess.core.MoveList;
+import com.minhduc5a12.chess.core.Piece;
+import com.minhduc5a12.chess.core.Position;
 import com.minhduc5a12.chess.constants.PieceColor;
-import com.minhduc5a12.chess.utils.BoardUtils;
-
-import java.util.ArrayList;
-import java.util.List;
 
 public class Rook extends ChessPiece {
-    public Rook(PieceColor color, String imagePath, GameController gameController) {
-        super(color, imagePath, gameController);
+
+    public Rook(PieceColor color) {
+        super(color, Piece.ROOK);
         this.setPieceValue(5);
     }
 
     @Override
-    public List<Move> generateValidMoves(int startX, int startY, ChessTile[][] board) {
-        List<Move> validMoves = new ArrayList<>();
-        int[][] directions = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
-        for (int[] dir : directions) {
-            int x = startX + dir[0];
-            int y = startY + dir[1];
-            while (BoardUtils.isWithinBoard(x, y)) {
-                ChessPiece targetPiece = board[y][x].getPiece();
-                if (targetPiece == null) {
-                    validMoves.add(new Move(startX, startY, x, y));
-                } else {
-                    if (targetPiece.getColor() != getColor()) {
-                        validMoves.add(new Move(startX, startY, x, y));
-                    }
-                    break;
-                }
-                x += dir[0];
-                y += dir[1];
-            }
-        }
-        return validMoves;
+    public void generateMoves(int from, Position position, MoveList moves) {
+        MoveGenerator.addRookMoves(position, from, moves);
     }
-}
\ No newline at end of file
+}
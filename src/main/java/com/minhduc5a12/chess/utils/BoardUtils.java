@@ -1,17 +1,18 @@
 package com.minhduc5a12.chess.utils;
 
-import com.minhduc5a12.chess.pieces.ChessPiece;
-import com.minhduc5a12.chess.ChessTile;
+import com.minhduc5a12.chess.core.MoveGenerator;
+import com.minhduc5a12.chess.core.MoveList;
+import com.minhduc5a12.chess.core.Moves;
+import com.minhduc5a12.chess.core.Piece;
+import com.minhduc5a12.chess.core.Position;
+import com.minhduc5a12.chess.core.Square;
 import com.minhduc5a12.chess.constants.PieceColor;
 import com.minhduc5a12.chess.model.Move;
-import com.minhduc5a12.chess.pieces.King;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 public class BoardUtils {
     public static final int BOARD_SIZE = 8;
@@ -20,170 +21,78 @@ public class BoardUtils {
         return x >= 0 && x < BOARD_SIZE && y >= 0 && y < BOARD_SIZE;
     }
 
-    public static boolean isKingInCheck(ChessTile[][] board, PieceColor color, Map<ChessPiece, int[]> piecePositions) {
-        for (Map.Entry<ChessPiece, int[]> entry : piecePositions.entrySet()) {
-            ChessPiece piece = entry.getKey();
-            if (piece instanceof King && piece.getColor() == color) {
-                int[] kingPosition = entry.getValue();
-                int kingX = kingPosition[0];
-                int kingY = kingPosition[1];
-
-                for (Map.Entry<ChessPiece, int[]> enemyEntry : piecePositions.entrySet()) {
-                    ChessPiece enemyPiece = enemyEntry.getKey();
-                    if (enemyPiece.getColor() != color) {
-                        int[] enemyPosition = enemyEntry.getValue();
-                        int enemyX = enemyPosition[0];
-                        int enemyY = enemyPosition[1];
-
-                        if (enemyPiece.isValidMove(enemyX, enemyY, kingX, kingY, board)) {
-                            LoggerFactory.getLogger(BoardUtils.class).info("King of {} in check by {} at ({},{})", color, enemyPiece, enemyX, enemyY);
-                            return true;
-                        }
-                    }
-                }
-                break;
-            }
-        }
-        return false;
+    public static boolean isKingInCheck(Position position, PieceColor color) {
+        return position.isInCheck(Piece.colorOf(color));
     }
 
-    public static boolean isCheckmate(ChessTile[][] board, PieceColor color, Map<ChessPiece, int[]> piecePositions) {
+    public static boolean isCheckmate(Position position, PieceColor color) {
         Logger logger = LoggerFactory.getLogger(BoardUtils.class);
-        logger.info("Checking checkmate for {}", color);
-        if (!isKingInCheck(board, color, piecePositions)) {
-            logger.info("King not in check");
+        logger.debug("Checking checkmate for {}", color);
+        if (!isKingInCheck(position, color)) {
+            logger.debug("King not in check");
             return false;
         }
-        logger.info("King in check, testing moves");
-        for (Map.Entry<ChessPiece, int[]> entry : piecePositions.entrySet()) {
-            ChessPiece piece = entry.getKey();
-            if (piece.getColor() == color) {
-                int startX = entry.getValue()[0];
-                int startY = entry.getValue()[1];
-                List<Move> validMoves = piece.generateValidMoves(startX, startY, board);
-                logger.info("Piece {} at ({}, {}) has {} moves", piece.getClass().getSimpleName(), startX, startY, validMoves.size());
-                for (Move move : validMoves) {
-                    int endX = move.endX();
-                    int endY = move.endY();
-                    logger.info("Trying move: ({}, {}) -> ({}, {})", startX, startY, endX, endY);
-                    ChessPiece targetPiece = board[endY][endX].getPiece();
-                    board[endY][endX].setPiece(piece);
-                    board[startY][startX].setPiece(null);
-                    Map<ChessPiece, int[]> tempPositions = new HashMap<>(piecePositions);
-                    tempPositions.put(piece, new int[]{endX, endY});
-                    if (targetPiece != null) tempPositions.remove(targetPiece);
-                    boolean stillInCheck = isKingInCheck(board, color, tempPositions);
-                    logger.info("Still in check after move? {}", stillInCheck);
-                    board[startY][startX].setPiece(piece);
-                    board[endY][endX].setPiece(targetPiece);
-                    if (!stillInCheck) {
-                        logger.info("Escape move found");
-                        return false;
-                    }
-                }
-            }
+        logger.debug("King in check, testing moves");
+        if (MoveGenerator.hasAnyLegalMove(position, Piece.colorOf(color))) {
+            logger.debug("Escape move found");
+            return false;
         }
-        logger.info("Checkmate confirmed");
+        logger.debug("Checkmate confirmed");
         return true;
     }
 
-    public static boolean isMoveValidUnderCheck(int startX, int startY, int endX, int endY, ChessTile[][] board, PieceColor currentColor, Map<ChessPiece, int[]> piecePositions) {
-        ChessPiece movingPiece = board[startY][startX].getPiece();
-        ChessPiece targetPiece = board[endY][endX].getPiece();
-
-        board[endY][endX].setPiece(movingPiece);
-        board[startY][startX].setPiece(null);
-
-        int[] oldPosition = piecePositions.get(movingPiece);
-        piecePositions.put(movingPiece, new int[]{endX, endY});
-        if (targetPiece != null) {
-            piecePositions.remove(targetPiece);
+    public static boolean isMoveValidUnderCheck(int startX, int startY, int endX, int endY, Position position, PieceColor currentColor) {
+        int from = Square.of(startX, startY);
+        if (position.pieceAt(from) == Piece.NONE) {
+            return false;
         }
+        MoveList moves = new MoveList();
+        MoveGenerator.generateLegal(position, Piece.colorOf(currentColor), moves);
+        return moves.find(from, Square.of(endX, endY)) != Moves.NONE;
+    }
 
-        boolean isKingInCheck = isKingInCheck(board, currentColor, piecePositions);
-
-        board[startY][startX].setPiece(movingPiece);
-        board[endY][endX].setPiece(targetPiece);
-        piecePositions.put(movingPiece, oldPosition);
-        if (targetPiece != null) {
-            piecePositions.put(targetPiece, new int[]{endX, endY});
+    /**
+     * Các nước hợp lệ của quân tại (x, y), mỗi ô đến một nước (phong cấp tính là phong hậu).
+     */
+    public static List<Move> getLegalMoves(int x, int y, Position position, PieceColor color) {
+        int from = Square.of(x, y);
+        MoveList moves = new MoveList();
+        MoveGenerator.generateLegal(position, Piece.colorOf(color), moves);
+        List<Move> legalMoves = new ArrayList<>();
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            int promotionType = Moves.promotionType(move);
+            if (Moves.from(move) == from && (promotionType == Piece.NONE || promotionType == Piece.QUEEN)) {
+                legalMoves.add(Move.of(move));
+            }
         }
-
-        return !isKingInCheck;
+        return legalMoves;
     }
 
     // Trường hợp 1: Lặp lại 3 lần
-    public static boolean isThreefoldRepetition(List<String> boardStates) {
+    public static boolean isThreefoldRepetition(Position position) {
         Logger logger = LoggerFactory.getLogger(BoardUtils.class);
-        if (boardStates.size() < 9) { // Cần ít nhất 9 nước (4 lượt mỗi bên + 1) để lặp 3 lần
-            return false;
-        }
-
-        String currentState = boardStates.getLast();
-        int count = 0;
-        for (String state : boardStates) {
-            if (state.equals(currentState)) {
-                count++;
-                if (count >= 3) {
-                    logger.info("Threefold repetition detected");
-                    return true;
-                }
-            }
+        // Thế cờ hiện tại đã xuất hiện 2 lần trước đó (cùng bên đi, cùng quyền nhập thành và bắt tốt qua đường)
+        if (position.repetitionCount() >= 2) {
+            logger.info("Threefold repetition detected");
+            return true;
         }
         return false;
     }
 
     // Trường hợp 2: Không còn nước đi hợp lệ (dead position)
-    public static boolean isDeadPosition(ChessTile[][] board, PieceColor color, Map<ChessPiece, int[]> piecePositions) {
+    public static boolean isDeadPosition(Position position, PieceColor color) {
         Logger logger = LoggerFactory.getLogger(BoardUtils.class);
-        logger.info("Checking if {} has no legal moves (dead position)", color);
+        logger.debug("Checking if {} has no legal moves (dead position)", color);
 
-        if (isKingInCheck(board, color, piecePositions)) {
+        if (isKingInCheck(position, color)) {
             return false; // Nếu bị chiếu thì không phải dead position
         }
 
-        List<Map.Entry<ChessPiece, int[]>> pieces = new ArrayList<>(piecePositions.entrySet());
-        for (Map.Entry<ChessPiece, int[]> entry : pieces) {
-            ChessPiece piece = entry.getKey();
-            if (piece.getColor() == color) {
-                int[] position = entry.getValue();
-                int startX = position[0];
-                int startY = position[1];
-
-                if (!isWithinBoard(startX, startY)) {
-                    logger.error("Invalid start position for piece {}: ({}, {})", piece, startX, startY);
-                    continue;
-                }
-
-                List<Move> validMoves = piece.generateValidMoves(startX, startY, board);
-
-                for (Move move : validMoves) {
-                    int endX = move.endX();
-                    int endY = move.endY();
-                    if (!isWithinBoard(endX, endY)) {
-                        logger.error("Invalid move generated for piece {}: ({}, {}) -> ({}, {})", piece, startX, startY, endX, endY);
-                        continue;
-                    }
-                    ChessPiece targetPiece = board[endY][endX].getPiece();
-                    board[endY][endX].setPiece(piece);
-                    board[startY][startX].setPiece(null);
-
-                    Map<ChessPiece, int[]> tempPositions = new java.util.HashMap<>(piecePositions);
-                    tempPositions.put(piece, new int[]{endX, endY});
-                    if (targetPiece != null) tempPositions.remove(targetPiece);
-
-                    boolean stillValid = !isKingInCheck(board, color, tempPositions);
-
-                    board[startY][startX].setPiece(piece);
-                    board[endY][endX].setPiece(targetPiece);
-
-                    if (stillValid) {
-                        return false; // Tìm thấy nước đi hợp lệ
-                    }
-                }
-            }
+        if (MoveGenerator.hasAnyLegalMove(position, Piece.colorOf(color))) {
+            return false; // Tìm thấy nước đi hợp lệ
         }
-        logger.info("No legal moves for {}, dead position confirmed", color);
+        logger.debug("No legal moves for {}, dead position confirmed", color);
         return true;
     }
 
@@ -0,0 +1,38 @@
+package com.minhduc5a12.chess;
+
+import com.minhduc5a12.chess.constants.PieceColor;
+import com.minhduc5a12.chess.core.Moves;
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bộ luật phải chạy được trên JVM không có màn hình.
+ */
+public class HeadlessRulesTest extends TestCase {
+
+    @Override
+    protected void setUp() {
+        System.setProperty("java.awt.headless", "true");
+    }
+
+    public void testFoolsMateWithoutDisplay() {
+        BoardManager boardManager = new BoardManager();
+        MoveExecutor moveExecutor = new MoveExecutor(boardManager);
+        GameStateChecker stateChecker = new GameStateChecker(boardManager);
+        List<Integer> events = new ArrayList<>();
+        boardManager.addPositionListener(events::add);
+
+        assertTrue(moveExecutor.executeMove(5, 6, 5, 5, null, PieceColor.WHITE) != Moves.NONE);
+        assertTrue(moveExecutor.executeMove(4, 1, 4, 3, null, PieceColor.BLACK) != Moves.NONE);
+        assertTrue(moveExecutor.executeMove(6, 6, 6, 4, null, PieceColor.WHITE) != Moves.NONE);
+        assertTrue(moveExecutor.executeMove(3, 0, 7, 4, null, PieceColor.BLACK) != Moves.NONE);
+
+        assertEquals(4, events.size());
+        assertTrue(stateChecker.isKingInCheck(PieceColor.WHITE));
+        assertTrue(stateChecker.isCheckmate(PieceColor.WHITE));
+        assertFalse(stateChecker.isMoveValidUnderCheck(4, 7, 5, 6, PieceColor.WHITE));
+        assertEquals("rnb1kbnr/pppp1ppp/8/4p3/6Pq/5P2/PPPPP2P/RNBQKBNR w KQkq - 1 3", boardManager.getPosition().toFen());
+    }
+}
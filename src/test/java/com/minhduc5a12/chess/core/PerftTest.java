@@ -0,0 +1,75 @@
+package com.minhduc5a12.chess.core;
+
+import junit.framework.TestCase;
+
+import java.util.Map;
+
+/**
+ * Đối chiếu bộ sinh nước với số perft đã công bố (chessprogramming.org/Perft_Results).
+ */
+public class PerftTest extends TestCase {
+    private static final String KIWIPETE = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+    private static final String POSITION_3 = "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1";
+    private static final String POSITION_4 = "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1";
+    private static final String POSITION_5 = "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8";
+    private static final String POSITION_6 = "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10";
+
+    public void testStartPosition() {
+        assertPerft(Position.START_FEN, 20, 400, 8902, 197281);
+    }
+
+    public void testKiwipete() {
+        assertPerft(KIWIPETE, 48, 2039, 97862);
+    }
+
+    public void testEnPassantAndDiscoveredChecks() {
+        assertPerft(POSITION_3, 14, 191, 2812, 43238, 674624);
+    }
+
+    public void testPromotionsAndCastlingRights() {
+        assertPerft(POSITION_4, 6, 264, 9467, 422333);
+        // Cùng thế cờ lật màu phải cho cùng kết quả
+        assertPerft("r2q1rk1/pP1p2pp/Q4n2/bbp1p3/Np6/1B3NBn/pPPP1PPP/R3K2R b KQ - 0 1", 6, 264, 9467);
+    }
+
+    public void testPosition5() {
+        assertPerft(POSITION_5, 44, 1486, 62379);
+    }
+
+    public void testPosition6() {
+        assertPerft(POSITION_6, 46, 2079, 89890);
+    }
+
+    public void testCastlingThroughCheckIsRejected() {
+        // Tượng đen khống chế f1 nên trắng không được nhập thành cánh vua
+        Position position = Position.fromFen("4k3/8/8/8/8/8/6b1/4K2R w K - 0 1");
+        MoveList moves = new MoveList();
+        MoveGenerator.generateLegal(position, moves);
+        assertEquals(Moves.NONE, moves.find(Square.parse("e1"), Square.parse("g1")));
+    }
+
+    public void testEnPassantOnlyForSideToMove() {
+        // Tốt đen f7 khống chế e6 nhưng chỉ trắng mới được bắt qua đường
+        Position position = Position.fromFen("4k3/5p2/8/3Pp3/8/8/8/4K3 w - e6 0 1");
+        MoveList moves = new MoveList();
+        MoveGenerator.generateLegal(position, Piece.BLACK, moves);
+        assertEquals(Moves.NONE, moves.find(Square.parse("f7"), Square.parse("e6")));
+        assertEquals("4k3/5p2/8/3Pp3/8/8/8/4K3 w - e6 0 1", position.toFen());
+    }
+
+    public void testDivideSumsToPerft() {
+        Position position = Position.fromFen(KIWIPETE);
+        Map<String, Long> divide = Perft.divide(position, 2);
+        assertEquals(48, divide.size());
+        assertEquals(Long.valueOf(2039), divide.values().stream().reduce(0L, Long::sum));
+        assertEquals(KIWIPETE, position.toFen());
+    }
+
+    private static void assertPerft(String fen, long... expected) {
+        Position position = Position.fromFen(fen);
+        for (int depth = 1; depth <= expected.length; depth++) {
+            assertEquals("depth " + depth + " of " + fen, expected[depth - 1], Perft.perft(position, depth));
+        }
+        assertEquals(fen, position.toFen());
+    }
+}
@@ -0,0 +1,55 @@
+package com.minhduc5a12.chess.core;
+
+import junit.framework.TestCase;
+
+public class ZobristTest extends TestCase {
+
+    public void testIncrementalKeyMatchesFreshPosition() {
+        Position position = Position.fromFen("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+        assertKeysMatch(position, 3);
+    }
+
+    public void testKnightShuffleIsThreefoldRepetition() {
+        Position position = Position.startPosition();
+        String[] shuffle = {"g1f3", "g8f6", "f3g1", "f6g8"};
+        for (int round = 0; round < 2; round++) {
+            assertEquals(round, position.repetitionCount());
+            for (String uci : shuffle) {
+                play(position, uci);
+            }
+        }
+        assertEquals(2, position.repetitionCount());
+    }
+
+    public void testIrreversibleMoveResetsRepetition() {
+        Position position = Position.startPosition();
+        for (String uci : new String[]{"g1f3", "g8f6", "f3g1", "f6g8", "e2e4", "e7e5", "g1f3", "g8f6", "f3g1", "f6g8"}) {
+            play(position, uci);
+        }
+        assertEquals(1, position.repetitionCount());
+    }
+
+    private static void assertKeysMatch(Position position, int depth) {
+        assertEquals(Position.fromFen(position.toFen()).getKey(), position.getKey());
+        if (depth == 0) {
+            return;
+        }
+        MoveList moves = new MoveList();
+        MoveGenerator.generateLegal(position, moves);
+        for (int i = 0; i < moves.size(); i++) {
+            long before = position.getKey();
+            position.makeMove(moves.get(i));
+            assertKeysMatch(position, depth - 1);
+            position.unmakeMove();
+            assertEquals(before, position.getKey());
+        }
+    }
+
+    private static void play(Position position, String uci) {
+        MoveList moves = new MoveList();
+        MoveGenerator.generateLegal(position, moves);
+        int move = moves.find(Square.parse(uci.substring(0, 2)), Square.parse(uci.substring(2, 4)));
+        assertTrue(uci, move != Moves.NONE);
+        position.makeMove(move);
+    }
+}
@@ -0,0 +1,31 @@
+package com.minhduc5a12.chess.engine;
+
+import junit.framework.TestCase;
+
+import java.util.List;
+
+public class AnalysisUpdateTest extends TestCase {
+
+    public void testParseStockfishInfoLine() {
+        AnalysisUpdate update = AnalysisUpdate.parse("info depth 22 seldepth 31 multipv 1 score cp 35 wdl 120 850 30 "
+                + "nodes 1843251 nps 1523348 hashfull 412 tbhits 0 time 1210 pv e2e4 e7e5 g1f3");
+        assertEquals(new AnalysisUpdate(22, 31, 1, 35, false, AnalysisUpdate.Bound.EXACT,
+                1843251, 1523348, 412, 1210, "e2e4 e7e5 g1f3"), update);
+        assertEquals(List.of("e2e4", "e7e5", "g1f3"), update.pvMoves());
+        assertEquals("e2e4", update.firstMove());
+    }
+
+    public void testParseMateAndBound() {
+        AnalysisUpdate update = AnalysisUpdate.parse("info depth 12 score mate -3 upperbound nodes 500 pv h7h8");
+        assertTrue(update.mate());
+        assertEquals(-3, update.score());
+        assertEquals(AnalysisUpdate.Bound.UPPER, update.bound());
+        assertEquals(500, update.nodes());
+    }
+
+    public void testLinesWithoutScoreAreSkipped() {
+        assertNull(AnalysisUpdate.parse("info string NNUE evaluation using nn-1111cefa1111.nnue enabled"));
+        assertNull(AnalysisUpdate.parse("info depth 5 currmove e2e4 currmovenumber 1"));
+        assertNull(AnalysisUpdate.parse("bestmove e2e4"));
+    }
+}
@@ -0,0 +1,144 @@
+package com.minhduc5a12.chess.engine;
+
+import junit.framework.TestCase;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.PrintStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class EnginePoolTest extends TestCase {
+    private final List<FakeEngine> engines = new CopyOnWriteArrayList<>();
+    private final AtomicInteger launches = new AtomicInteger();
+
+    public void testLeaseResetsEngineForNewGame() throws Exception {
+        try (EnginePool pool = new EnginePool(1, this::launch)) {
+            try (EnginePool.Lease lease = pool.lease(5, TimeUnit.SECONDS)) {
+                assertEquals(new BestMove("e2e4", null),
+                        lease.client().search("position startpos", "go depth 1").get(5, TimeUnit.SECONDS));
+            }
+            List<String> commands = engines.get(0).commands;
+            assertEquals(List.of("uci", "isready", "ucinewgame", "isready", "position startpos", "go depth 1"), commands);
+            assertEquals(1, pool.getTotalLeases());
+            assertEquals(0, pool.getLeased());
+        }
+    }
+
+    public void testSameGameKeepsEngineStateAndOnlySendsChangedOptions() throws Exception {
+        Object game = new Object();
+        Map<String, String> options = Map.of("Hash", "64");
+        try (EnginePool pool = new EnginePool(2, this::launch)) {
+            UciClient first;
+            try (EnginePool.Lease lease = pool.lease(game, options, 5, TimeUnit.SECONDS)) {
+                first = lease.client();
+            }
+            try (EnginePool.Lease lease = pool.lease(game, options, 5, TimeUnit.SECONDS)) {
+                assertSame(first, lease.client());
+            }
+            FakeEngine engine = engines.stream().filter(e -> e.client == first).findFirst().orElseThrow();
+            assertEquals(List.of("uci", "isready", "setoption name Hash value 64", "ucinewgame", "isready", "isready"),
+                    engine.commands);
+        }
+    }
+
+    public void testReturnedEngineIsReused() throws Exception {
+        try (EnginePool pool = new EnginePool(1, this::launch)) {
+            EnginePool.Lease first = pool.lease(5, TimeUnit.SECONDS);
+            UciClient client = first.client();
+            assertEquals(1, pool.getLeased());
+            try {
+                pool.lease(100, TimeUnit.MILLISECONDS);
+                fail("Pool of one should be exhausted");
+            } catch (TimeoutException expected) {
+            }
+            first.close();
+            try (EnginePool.Lease second = pool.lease(5, TimeUnit.SECONDS)) {
+                assertSame(client, second.client());
+            }
+            assertEquals(1, launches.get());
+            assertTrue(pool.getUtilization() > 0.0);
+        }
+    }
+
+    public void testDeadEngineIsReplaced() throws Exception {
+        try (EnginePool pool = new EnginePool(1, this::launch)) {
+            EnginePool.Lease lease = pool.lease(5, TimeUnit.SECONDS);
+            lease.client().close();
+            lease.close();
+            try (EnginePool.Lease replacement = pool.lease(5, TimeUnit.SECONDS)) {
+                assertTrue(replacement.client().isAlive());
+            }
+            assertEquals(2, launches.get());
+        }
+    }
+
+    public void testLaunchFailureFailsLeaseQuickly() throws Exception {
+        try (EnginePool pool = new EnginePool(2, () -> {
+            launches.incrementAndGet();
+            throw new IOException("No such engine");
+        })) {
+            long start = System.nanoTime();
+            try {
+                pool.lease(5, TimeUnit.SECONDS);
+                fail("Lease should fail when no engine can be launched");
+            } catch (IllegalStateException expected) {
+            }
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+            // Hai lần ở hàm dựng, một lần thử lại trong lease()
+            assertEquals(3, launches.get());
+        }
+    }
+
+    private UciClient launch() throws IOException {
+        launches.incrementAndGet();
+        FakeEngine engine = new FakeEngine();
+        engines.add(engine);
+        return engine.client;
+    }
+
+    /**
+     * Máy giả trả lời ngay mọi lệnh và ghi lại thứ tự lệnh đã nhận.
+     */
+    private static class FakeEngine {
+        final List<String> commands = new CopyOnWriteArrayList<>();
+        final UciClient client;
+
+        FakeEngine() throws IOException {
+            PipedInputStream clientInput = new PipedInputStream();
+            PrintStream output = new PrintStream(new PipedOutputStream(clientInput), true);
+            PipedInputStream engineInput = new PipedInputStream();
+            client = new UciClient(clientInput, new PipedOutputStream(engineInput));
+            BufferedReader input = new BufferedReader(new InputStreamReader(engineInput));
+            Thread thread = new Thread(() -> run(input, output), "fake-engine");
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        private void run(BufferedReader input, PrintStream output) {
+            try {
+                String command;
+                while ((command = input.readLine()) != null && !command.equals("quit")) {
+                    commands.add(command);
+                    switch (command.split(" ")[0]) {
+                        case "uci" -> output.println("uciok");
+                        case "isready" -> output.println("readyok");
+                        case "go" -> output.println("bestmove e2e4");
+                        default -> {
+                        }
+                    }
+                }
+            } catch (IOException ignored) {
+            } finally {
+                output.close();
+            }
+        }
+    }
+}
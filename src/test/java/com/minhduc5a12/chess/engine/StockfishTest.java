@@ -0,0 +1,32 @@
+package com.minhduc5a12.chess.engine;
+
+import com.minhduc5a12.chess.core.MoveGenerator;
+import com.minhduc5a12.chess.core.MoveList;
+import com.minhduc5a12.chess.core.Position;
+import com.minhduc5a12.chess.core.Square;
+import junit.framework.TestCase;
+
+public class StockfishTest extends TestCase {
+
+    public void testPositionCommandListsMovesFromStart() {
+        Position position = Position.startPosition();
+        assertEquals("position startpos", Stockfish.positionCommand(position));
+        play(position, "e2", "e4");
+        play(position, "c7", "c5");
+        play(position, "g1", "f3");
+        assertEquals("position startpos moves e2e4 c7c5 g1f3", Stockfish.positionCommand(position));
+    }
+
+    public void testPositionCommandKeepsCustomRootFen() {
+        String fen = "4k3/8/8/8/8/8/4P3/4K3 w - - 0 1";
+        Position position = Position.fromFen(fen);
+        play(position, "e2", "e4");
+        assertEquals("position fen " + fen + " moves e2e4", Stockfish.positionCommand(position));
+    }
+
+    private static void play(Position position, String from, String to) {
+        MoveList moves = new MoveList();
+        MoveGenerator.generateLegal(position, moves);
+        position.makeMove(moves.find(Square.parse(from), Square.parse(to)));
+    }
+}
@@ -0,0 +1,43 @@
+package com.minhduc5a12.chess.engine;
+
+import com.minhduc5a12.chess.core.Piece;
+import com.minhduc5a12.chess.engine.search.SearchLimits;
+import junit.framework.TestCase;
+
+public class TimePolicyTest extends TestCase {
+    private static final EngineClock CLOCK = new EngineClock(60_000, 40_000, 1_000, 1_000, 0);
+
+    public void testGoCommandCarriesClock() {
+        assertEquals("go wtime 60000 btime 40000 winc 1000 binc 1000", TimePolicy.clock().goCommand(CLOCK));
+        assertEquals("go depth 20 wtime 60000 btime 40000 winc 1000 binc 1000", TimePolicy.depth(20).goCommand(CLOCK));
+        assertEquals("go movetime 500", TimePolicy.moveTime(500).goCommand(CLOCK));
+        assertEquals("go nodes 100000", TimePolicy.nodes(100_000).goCommand(null));
+    }
+
+    public void testClockBudgetStaysWithinRemainingTime() {
+        SearchLimits limits = TimePolicy.clock().toSearchLimits(CLOCK, Piece.BLACK);
+        // 40 s chia cho 40 nước cộng 3/4 giây cộng thêm, trừ độ trễ
+        assertEquals(1_700, limits.timeMillis());
+        long hardLimit = TimePolicy.clock().hardLimitMillis(CLOCK, Piece.BLACK);
+        assertTrue(hardLimit >= limits.timeMillis() && hardLimit < 20_000);
+
+        EngineClock lowOnTime = new EngineClock(60_000, 300, 0, 0, 0);
+        assertTrue(TimePolicy.depth(25).hardLimitMillis(lowOnTime, Piece.BLACK) <= 150);
+    }
+
+    public void testDepthWithoutClockHasNoHardLimit() {
+        assertEquals(0, TimePolicy.depth(25).hardLimitMillis(null, Piece.WHITE));
+        assertEquals(new SearchLimits(25, 0, 0), TimePolicy.depth(25).toSearchLimits(null, Piece.WHITE));
+    }
+
+    public void testParse() {
+        assertEquals(TimePolicy.Kind.CLOCK, TimePolicy.parse("clock").getKind());
+        assertEquals("movetime:1500", TimePolicy.parse("movetime:1500").toString());
+        assertEquals(TimePolicy.Kind.NODES, TimePolicy.parse("nodes:5000").getKind());
+        try {
+            TimePolicy.parse("depth");
+            fail("Missing value should be rejected");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+}
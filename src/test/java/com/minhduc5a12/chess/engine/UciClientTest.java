@@ -0,0 +1,126 @@
+package com.minhduc5a12.chess.engine;
+
+import junit.framework.TestCase;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.PrintStream;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Máy giả qua hai đường ống: kiểm thử đọc lệnh client gửi đi và tự in câu trả lời.
+ */
+public class UciClientTest extends TestCase {
+    private BufferedReader commands;
+    private PrintStream engine;
+    private UciClient client;
+
+    @Override
+    protected void setUp() throws IOException {
+        PipedInputStream clientInput = new PipedInputStream();
+        engine = new PrintStream(new PipedOutputStream(clientInput), true);
+        PipedInputStream engineInput = new PipedInputStream();
+        client = new UciClient(clientInput, new PipedOutputStream(engineInput));
+        commands = new BufferedReader(new InputStreamReader(engineInput));
+    }
+
+    @Override
+    protected void tearDown() {
+        client.close();
+        engine.close();
+    }
+
+    public void testHandshakeAndReady() throws Exception {
+        CompletableFuture<Void> handshake = client.uci();
+        assertEquals("uci", commands.readLine());
+        engine.println("id name Fake");
+        engine.println("uciok");
+        handshake.get(5, TimeUnit.SECONDS);
+
+        CompletableFuture<Void> ready = client.isReady();
+        assertEquals("isready", commands.readLine());
+        engine.println("readyok");
+        ready.get(5, TimeUnit.SECONDS);
+    }
+
+    public void testSearchCompletesOnBestMove() throws Exception {
+        CompletableFuture<BestMove> search = client.search("position startpos", "go depth 1");
+        assertEquals("position startpos", commands.readLine());
+        assertEquals("go depth 1", commands.readLine());
+        engine.println("info depth 1 score cp 30 pv e2e4");
+        assertFalse(search.isDone());
+        engine.println("bestmove e2e4 ponder e7e5");
+        assertEquals(new BestMove("e2e4", "e7e5"), search.get(5, TimeUnit.SECONDS));
+        assertFalse(client.isSearching());
+    }
+
+    public void testInfoLinesArePublishedToListeners() throws Exception {
+        List<AnalysisUpdate> updates = new CopyOnWriteArrayList<>();
+        client.addAnalysisListener(updates::add);
+        CompletableFuture<BestMove> search = client.search("position startpos", "go depth 2");
+        engine.println("info string hello");
+        engine.println("info depth 1 score cp 20 nodes 20 pv d2d4");
+        engine.println("info depth 2 score cp 15 nodes 80 pv d2d4 d7d5");
+        engine.println("bestmove d2d4");
+        search.get(5, TimeUnit.SECONDS);
+        assertEquals(2, updates.size());
+        assertEquals(2, updates.get(1).depth());
+        assertEquals("d2d4 d7d5", updates.get(1).pv());
+    }
+
+    public void testOverlappingSearchIsRejected() throws Exception {
+        client.search("position startpos", "go infinite");
+        CompletableFuture<BestMove> second = client.search("position startpos", "go depth 1");
+        try {
+            second.get(5, TimeUnit.SECONDS);
+            fail("Second search should be rejected");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    public void testCancelSendsStopAndWaitsForBestMove() throws Exception {
+        CompletableFuture<BestMove> search = client.search("position startpos", "go infinite");
+        commands.readLine();
+        commands.readLine();
+        assertTrue(search.cancel(true));
+        assertEquals("stop", commands.readLine());
+        // Máy vẫn bận cho tới khi bestmove của lần tìm bị hủy về tới
+        assertTrue(client.isSearching());
+        engine.println("bestmove d2d4");
+        CompletableFuture<Void> ready = client.isReady();
+        assertEquals("isready", commands.readLine());
+        engine.println("readyok");
+        ready.get(5, TimeUnit.SECONDS);
+        assertFalse(client.isSearching());
+        try {
+            search.join();
+            fail("Cancelled search should not complete");
+        } catch (CancellationException expected) {
+        }
+    }
+
+    public void testEngineExitFailsPendingSearch() throws Exception {
+        CompletableFuture<BestMove> search = client.search("position startpos", "go infinite");
+        engine.close();
+        try {
+            search.get(5, TimeUnit.SECONDS);
+            fail("Search should fail when the engine exits");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IOException);
+        }
+    }
+
+    public void testParseBestMoveWithoutMove() {
+        assertTrue(BestMove.parse("bestmove (none)").isNone());
+        assertEquals(new BestMove("a7a8q", null), BestMove.parse("bestmove a7a8q"));
+    }
+}
@@ -0,0 +1,78 @@
+package com.minhduc5a12.chess.engine.bitbase;
+
+import com.minhduc5a12.chess.core.Position;
+import com.minhduc5a12.chess.engine.search.SearchLimits;
+import com.minhduc5a12.chess.engine.search.Searcher;
+import com.minhduc5a12.chess.engine.search.TranspositionTable;
+import junit.framework.TestCase;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+
+public class BitbaseTest extends TestCase {
+    // KBNK mất nhiều thời gian để sinh nên chỉ kiểm tra ba bảng nhỏ, sinh một lần cho cả lớp
+    private static Bitbases bitbases;
+
+    @Override
+    protected void setUp() {
+        if (bitbases == null) {
+            Map<BitbaseMaterial, Bitbase> tables = new EnumMap<>(BitbaseMaterial.class);
+            for (BitbaseMaterial material : new BitbaseMaterial[]{BitbaseMaterial.KQK, BitbaseMaterial.KRK, BitbaseMaterial.KPK}) {
+                tables.put(material, BitbaseGenerator.generate(material, tables));
+            }
+            bitbases = new Bitbases(tables);
+        }
+    }
+
+    public void testKingAndPawnOpposition() {
+        assertEquals(Bitbases.DRAW, probe("8/4k3/8/4K3/4P3/8/8/8 w - - 0 1"));
+        assertEquals(Bitbases.LOSS, probe("8/4k3/8/4K3/4P3/8/8/8 b - - 0 1"));
+        assertEquals(Bitbases.DRAW, probe("k7/8/8/8/8/8/P7/K7 w - - 0 1"));
+    }
+
+    public void testStalemateAndCaptureAreDraws() {
+        assertEquals(Bitbases.DRAW, probe("4k3/4P3/4K3/8/8/8/8/8 b - - 0 1"));
+        assertEquals(Bitbases.DRAW, probe("8/8/8/8/8/2k5/1Q6/7K b - - 0 1"));
+        assertEquals(Bitbases.WIN, probe("8/8/8/3k4/8/8/8/KR6 w - - 0 1"));
+    }
+
+    public void testBlackStrongSideIsMirrored() {
+        assertEquals(Bitbases.WIN, probe("8/8/8/8/8/7K/8/kq6 b - - 0 1"));
+        assertEquals(Bitbases.LOSS, probe("8/8/8/8/8/7K/8/kq6 w - - 0 1"));
+        assertEquals(Bitbases.DRAW, probe("8/8/8/8/8/4k3/4p3/4K3 w - - 0 1"));
+    }
+
+    public void testPositionsOutsideTablesAreUnknown() {
+        assertEquals(Bitbases.UNKNOWN, probe("4k3/8/8/8/8/8/8/2BBK3 w - - 0 1"));
+        assertEquals(Bitbases.UNKNOWN, probe("4k3/4p3/8/8/8/8/4P3/4K3 w - - 0 1"));
+    }
+
+    public void testMappedFileMatchesGeneratedTable() throws IOException {
+        Path file = Files.createTempFile("kqk", ".bb");
+        try {
+            Bitbase generated = BitbaseGenerator.generate(BitbaseMaterial.KQK, Map.of());
+            Files.write(file, generated.toBytes());
+            Bitbase mapped = Bitbase.open(file);
+            for (int index = 0; index < BitbaseMaterial.KQK.size(); index += 97) {
+                assertEquals(generated.isWin(index), mapped.isWin(index));
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    public void testSearchScoresDrawnEndgameAsDraw() {
+        Searcher searcher = new Searcher(new TranspositionTable(1), bitbases);
+        Position position = Position.fromFen("8/4k3/8/4K3/4P3/8/8/8 w - - 0 1");
+        assertEquals(0, searcher.search(position, SearchLimits.ofDepth(6)).score());
+        position = Position.fromFen("8/4k3/8/4K3/4P3/8/8/8 b - - 0 1");
+        assertTrue(searcher.search(position, SearchLimits.ofDepth(6)).score() <= -Searcher.KNOWN_WIN);
+    }
+
+    private static int probe(String fen) {
+        return bitbases.probe(Position.fromFen(fen));
+    }
+}
@@ -0,0 +1,81 @@
+package com.minhduc5a12.chess.engine.book;
+
+import com.minhduc5a12.chess.core.Moves;
+import com.minhduc5a12.chess.core.Position;
+import junit.framework.TestCase;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+public class PolyglotBookTest extends TestCase {
+    // Bảng ngẫu nhiên giả; sách thật cần bảng Random64 chuẩn
+    private final PolyglotKey keys = new PolyglotKey(new SplittableRandom(7).longs(PolyglotKey.RANDOM_COUNT).toArray());
+    private Path file;
+
+    @Override
+    protected void tearDown() throws IOException {
+        if (file != null) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    public void testMissingPositionReturnsNone() throws IOException {
+        PolyglotBook book = writeBook(new long[]{keys.compute(Position.startPosition())}, new int[]{move("e2e4")}, new int[]{1});
+        Position position = Position.fromFen("4k3/8/8/8/8/8/8/4K3 w - - 0 1");
+        assertEquals(Moves.NONE, book.probe(position, new Random(1)));
+    }
+
+    public void testZeroWeightMoveIsNeverPlayed() throws IOException {
+        long start = keys.compute(Position.startPosition());
+        long other = keys.compute(Position.fromFen("4k3/8/8/8/8/8/8/4K3 w - - 0 1"));
+        long[] entryKeys = Long.compareUnsigned(start, other) < 0
+                ? new long[]{start, start, other} : new long[]{other, start, start};
+        int offset = entryKeys[0] == start ? 0 : 1;
+        int[] moves = new int[3];
+        int[] weights = new int[3];
+        moves[offset] = move("e2e4");
+        weights[offset] = 10;
+        moves[offset + 1] = move("d2d4");
+        moves[(offset + 2) % 3] = move("e1e2");
+        weights[(offset + 2) % 3] = 1;
+        PolyglotBook book = writeBook(entryKeys, moves, weights);
+
+        Random random = new Random(3);
+        for (int i = 0; i < 50; i++) {
+            assertEquals("e2e4", Moves.toUci(book.probe(Position.startPosition(), random)));
+        }
+    }
+
+    public void testCastlingIsDecodedAsKingMove() throws IOException {
+        Position position = Position.fromFen("r3k2r/8/8/8/8/8/8/R3K2R w KQkq - 0 1");
+        PolyglotBook book = writeBook(new long[]{keys.compute(position)}, new int[]{move("e1h1")}, new int[]{1});
+        int found = book.probe(position, new Random(1));
+        assertTrue(Moves.isCastling(found));
+        assertEquals("e1g1", Moves.toUci(found));
+    }
+
+    private PolyglotBook writeBook(long[] entryKeys, int[] moves, int[] weights) throws IOException {
+        file = Files.createTempFile("book", ".bin");
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(file))) {
+            for (int i = 0; i < entryKeys.length; i++) {
+                out.writeLong(entryKeys[i]);
+                out.writeShort(moves[i]);
+                out.writeShort(weights[i]);
+                out.writeInt(0);
+            }
+        }
+        return new PolyglotBook(file, keys);
+    }
+
+    private static int move(String uci) {
+        int fromFile = uci.charAt(0) - 'a';
+        int fromRow = uci.charAt(1) - '1';
+        int toFile = uci.charAt(2) - 'a';
+        int toRow = uci.charAt(3) - '1';
+        return toFile | toRow << 3 | fromFile << 6 | fromRow << 9;
+    }
+}
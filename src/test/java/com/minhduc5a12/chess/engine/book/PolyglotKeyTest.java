@@ -0,0 +1,44 @@
+package com.minhduc5a12.chess.engine.book;
+
+import com.minhduc5a12.chess.core.MoveGenerator;
+import com.minhduc5a12.chess.core.MoveList;
+import com.minhduc5a12.chess.core.Position;
+import com.minhduc5a12.chess.core.Square;
+import junit.framework.TestCase;
+
+/**
+ * Các khóa mẫu trong đặc tả định dạng sách Polyglot.
+ */
+public class PolyglotKeyTest extends TestCase {
+    private final PolyglotKey keys = PolyglotKey.standard();
+
+    public void testStartPosition() {
+        assertEquals(0x463b96181691fc9cL, keys.compute(Position.startPosition()));
+    }
+
+    public void testPositionsFromSpecification() {
+        assertKey(0x823c9b50fd114196L, "e2e4");
+        assertKey(0x0756b94461c50fb0L, "e2e4", "d7d5");
+        assertKey(0x662fafb965db29d4L, "e2e4", "d7d5", "e4e5");
+        // Tốt e5 bắt được qua đường ở f6 nên tính cột bắt tốt qua đường
+        assertKey(0x22a48b5a8e47ff78L, "e2e4", "d7d5", "e4e5", "f7f5");
+        // Mất quyền nhập thành của trắng rồi của đen
+        assertKey(0x652a607ca3f242c1L, "e2e4", "d7d5", "e4e5", "f7f5", "e1e2");
+        assertKey(0x00fdd303c946bdd9L, "e2e4", "d7d5", "e4e5", "f7f5", "e1e2", "e8f7");
+    }
+
+    public void testEnPassantByBlack() {
+        assertKey(0x3c8123ea7b067637L, "a2a4", "b7b5", "h2h4", "b5b4", "c2c4");
+        assertKey(0x5c3f9b829b279560L, "a2a4", "b7b5", "h2h4", "b5b4", "c2c4", "b4c3", "a1a3");
+    }
+
+    private void assertKey(long expected, String... moves) {
+        Position position = Position.startPosition();
+        MoveList list = new MoveList();
+        for (String move : moves) {
+            MoveGenerator.generateLegal(position, list);
+            position.makeMove(list.find(Square.parse(move.substring(0, 2)), Square.parse(move.substring(2, 4))));
+        }
+        assertEquals(String.join(" ", moves), Long.toHexString(expected), Long.toHexString(keys.compute(position)));
+    }
+}
@@ -0,0 +1,39 @@
+package com.minhduc5a12.chess.engine.search;
+
+import com.minhduc5a12.chess.core.MoveGenerator;
+import com.minhduc5a12.chess.core.MoveList;
+import com.minhduc5a12.chess.core.Position;
+import junit.framework.TestCase;
+
+public class EvaluatorTest extends TestCase {
+
+    public void testIncrementalMatchesFullRecompute() {
+        // Có nhập thành, bắt tốt qua đường và phong cấp trong cây
+        assertMatches(Position.fromFen("r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1"), 3);
+        assertMatches(Position.fromFen("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1"), 2);
+    }
+
+    public void testStartPositionIsSymmetric() {
+        assertEquals(0, Evaluator.evaluate(Position.startPosition()));
+    }
+
+    public void testMirroredPositionsScoreTheSame() {
+        Position white = Position.fromFen("r1bqkbnr/pppp1ppp/2n5/4p3/4P3/5N2/PPPP1PPP/RNBQKB1R w KQkq - 2 3");
+        Position black = Position.fromFen("rnbqkb1r/pppp1ppp/5n2/4p3/4P3/2N5/PPPP1PPP/R1BQKBNR b KQkq - 2 3");
+        assertEquals(Evaluator.evaluate(white), Evaluator.evaluate(black));
+    }
+
+    private static void assertMatches(Position position, int depth) {
+        assertEquals(position.toFen(), Evaluator.evaluateFromScratch(position), Evaluator.evaluate(position));
+        if (depth == 0) {
+            return;
+        }
+        MoveList moves = new MoveList();
+        MoveGenerator.generateLegal(position, moves);
+        for (int i = 0; i < moves.size(); i++) {
+            position.makeMove(moves.get(i));
+            assertMatches(position, depth - 1);
+            position.unmakeMove();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.minhduc5a12.chess.engine.search;
+
+import com.minhduc5a12.chess.core.MoveGenerator;
+import com.minhduc5a12.chess.core.MoveList;
+import com.minhduc5a12.chess.core.Moves;
+import com.minhduc5a12.chess.core.Position;
+import junit.framework.TestCase;
+
+public class LazySmpSearchTest extends TestCase {
+    private static final String MIDDLEGAME = "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10";
+
+    public void testSingleThreadIsDeterministic() {
+        SearchResult first = searchOnce(1, SearchLimits.ofDepth(4));
+        SearchResult second = searchOnce(1, SearchLimits.ofDepth(4));
+        assertEquals(first, new SearchResult(second.bestMove(), second.score(), second.depth(), second.nodes(), first.timeMillis()));
+    }
+
+    public void testHelpersReturnLegalMoveAndStop() {
+        Position position = Position.fromFen(MIDDLEGAME);
+        LazySmpSearch search = new LazySmpSearch(new TranspositionTable(4), 3);
+        SearchResult result = search.search(position, SearchLimits.ofDepth(4));
+        search.close();
+
+        MoveList legal = new MoveList();
+        MoveGenerator.generateLegal(position, legal);
+        assertTrue(legal.find(Moves.from(result.bestMove()), Moves.to(result.bestMove())) != Moves.NONE);
+        assertTrue(result.depth() >= 4);
+        assertEquals(MIDDLEGAME, position.toFen());
+    }
+
+    private static SearchResult searchOnce(int threads, SearchLimits limits) {
+        LazySmpSearch search = new LazySmpSearch(new TranspositionTable(4), threads);
+        try {
+            return search.search(Position.fromFen(MIDDLEGAME), limits);
+        } finally {
+            search.close();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.minhduc5a12.chess.engine.search;
+
+import com.minhduc5a12.chess.core.MoveGenerator;
+import com.minhduc5a12.chess.core.MoveList;
+import com.minhduc5a12.chess.core.Moves;
+import com.minhduc5a12.chess.core.Position;
+import com.minhduc5a12.chess.core.Square;
+import junit.framework.TestCase;
+
+import java.util.HashSet;
+import java.util.Set;
+
+public class MovePickerTest extends TestCase {
+    // Trắng có thể ăn hậu bằng tốt hoặc xe, ăn mã bằng xe
+    private static final String FEN = "4k3/8/8/2n1q3/3P4/8/8/2R1R1K1 w - - 0 1";
+
+    public void testStagesOrderTableMoveThenMvvLva() {
+        Position position = Position.fromFen(FEN);
+        int tableMove = move(position, "g1g2");
+        MovePicker picker = new MovePicker();
+        picker.init(position, new History(), 0, tableMove);
+
+        assertEquals("g1g2", Moves.toUci(picker.next()));
+        assertEquals("d4e5", Moves.toUci(picker.next()));
+        assertEquals("e1e5", Moves.toUci(picker.next()));
+        assertEquals("d4c5", Moves.toUci(picker.next()));
+        assertEquals("c1c5", Moves.toUci(picker.next()));
+    }
+
+    public void testReturnsEveryLegalMoveOnce() {
+        Position position = Position.fromFen(FEN);
+        MovePicker picker = new MovePicker();
+        History history = new History();
+        history.update(position, 0, 4, move(position, "c1c2"), new int[0], 0);
+        picker.init(position, history, 0, move(position, "d4c5"));
+
+        Set<Integer> seen = new HashSet<>();
+        for (int move = picker.next(); move != Moves.NONE; move = picker.next()) {
+            assertTrue(Moves.toUci(move), seen.add(move));
+        }
+        MoveList legal = new MoveList();
+        MoveGenerator.generateLegal(position, legal);
+        assertEquals(legal.size(), seen.size());
+    }
+
+    private static int move(Position position, String uci) {
+        MoveList moves = new MoveList();
+        MoveGenerator.generateLegal(position, moves);
+        return moves.find(Square.parse(uci.substring(0, 2)), Square.parse(uci.substring(2, 4)));
+    }
+}
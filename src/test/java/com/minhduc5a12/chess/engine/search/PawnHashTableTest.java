@@ -0,0 +1,74 @@
+package com.minhduc5a12.chess.engine.search;
+
+import com.minhduc5a12.chess.core.MoveGenerator;
+import com.minhduc5a12.chess.core.MoveList;
+import com.minhduc5a12.chess.core.PieceSquareTable;
+import com.minhduc5a12.chess.core.Position;
+import com.minhduc5a12.chess.core.Square;
+import junit.framework.TestCase;
+
+public class PawnHashTableTest extends TestCase {
+
+    public void testPawnKeyMatchesFreshPosition() {
+        // Khóa tốt cập nhật từng phần phải khớp với thế dựng lại từ FEN, kể cả khi bắt qua đường và phong cấp
+        assertPawnKeys(Position.fromFen("r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1"), 3);
+    }
+
+    public void testPieceMovesKeepPawnKey() {
+        Position position = Position.startPosition();
+        long pawnKey = position.getPawnKey();
+        play(position, "g1", "f3");
+        assertEquals(pawnKey, position.getPawnKey());
+        play(position, "e7", "e5");
+        assertFalse(pawnKey == position.getPawnKey());
+    }
+
+    public void testRepeatedProbeHits() {
+        PawnHashTable table = new PawnHashTable(1024);
+        Position position = Position.fromFen("4k3/pp3ppp/8/3P4/8/8/PP3PPP/4K3 w - - 0 1");
+        int first = table.probe(position);
+        assertEquals(first, table.probe(position));
+        assertEquals(2, table.getProbes());
+        assertEquals(1, table.getHits());
+    }
+
+    public void testPassedAndIsolatedPawns() {
+        // Tốt d5 vừa thông vừa cô lập, ở tàn cuộc tốt thông đáng giá hơn
+        Position position = Position.fromFen("4k3/pp3ppp/8/3P4/8/8/PP3PPP/4K3 w - - 0 1");
+        assertTrue(PieceSquareTable.eg(PawnStructure.evaluate(position)) > 0);
+    }
+
+    public void testMirroredPositionsScoreOpposite() {
+        PawnHashTable table = new PawnHashTable(1024);
+        Position white = Position.fromFen("r1bq1rk1/pp3ppp/2n5/2bpp3/8/2P2N2/PP1P1PPP/RNBQ1RK1 w - - 0 1");
+        Position black = Position.fromFen("rnbq1rk1/pp1p1ppp/2p2n2/8/2BPP3/2N5/PP3PPP/R1BQ1RK1 b - - 0 1");
+        assertEquals(table.probe(white), -table.probe(black));
+    }
+
+    public void testSearchMostlyHitsPawnTable() {
+        Searcher searcher = new Searcher();
+        searcher.search(Position.fromFen("r1bqkbnr/pppp1ppp/2n5/4p3/4P3/5N2/PPPP1PPP/RNBQKB1R w KQkq - 2 3"),
+                new SearchLimits(5, 0, 0));
+        assertTrue(searcher.getPawnTable().getHitRate() > 0.9);
+    }
+
+    private static void play(Position position, String from, String to) {
+        MoveList moves = new MoveList();
+        MoveGenerator.generateLegal(position, moves);
+        position.makeMove(moves.find(Square.parse(from), Square.parse(to)));
+    }
+
+    private static void assertPawnKeys(Position position, int depth) {
+        assertEquals(position.toFen(), Position.fromFen(position.toFen()).getPawnKey(), position.getPawnKey());
+        if (depth == 0) {
+            return;
+        }
+        MoveList moves = new MoveList();
+        MoveGenerator.generateLegal(position, moves);
+        for (int i = 0; i < moves.size(); i++) {
+            position.makeMove(moves.get(i));
+            assertPawnKeys(position, depth - 1);
+            position.unmakeMove();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.minhduc5a12.chess.engine.search;
+
+import com.minhduc5a12.chess.core.Moves;
+import com.minhduc5a12.chess.core.Position;
+import junit.framework.TestCase;
+
+public class SearcherTest extends TestCase {
+
+    public void testFindsBackRankMate() {
+        Position position = Position.fromFen("6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1");
+        SearchResult result = new Searcher().search(position, SearchLimits.ofDepth(3));
+        assertEquals("a1a8", Moves.toUci(result.bestMove()));
+        assertEquals(Searcher.MATE - 1, result.score());
+    }
+
+    public void testWinsHangingQueen() {
+        Position position = Position.fromFen("4k3/8/8/3q4/8/8/8/3RK3 w - - 0 1");
+        SearchResult result = new Searcher().search(position, SearchLimits.ofDepth(2));
+        assertEquals("d1d5", Moves.toUci(result.bestMove()));
+    }
+
+    public void testNodeBudgetStopsSearch() {
+        Position position = Position.startPosition();
+        SearchResult result = new Searcher().search(position, new SearchLimits(0, 0, 50_000));
+        assertTrue(result.nodes() <= 50_000 + 1024);
+        assertTrue(result.bestMove() != Moves.NONE);
+        assertEquals(Position.START_FEN, position.toFen());
+    }
+}
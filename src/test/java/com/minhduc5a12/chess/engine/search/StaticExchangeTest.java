@@ -0,0 +1,39 @@
+package com.minhduc5a12.chess.engine.search;
+
+import com.minhduc5a12.chess.core.MoveGenerator;
+import com.minhduc5a12.chess.core.MoveList;
+import com.minhduc5a12.chess.core.Moves;
+import com.minhduc5a12.chess.core.Position;
+import com.minhduc5a12.chess.core.Square;
+import junit.framework.TestCase;
+
+public class StaticExchangeTest extends TestCase {
+
+    public void testUndefendedPawnIsWon() {
+        assertEquals(100, see("1k1r4/1pp4p/p7/4p3/8/P5P1/1PP4P/2K1R3 w - - 0 1", "e1e5"));
+    }
+
+    public void testRookTakingDefendedPawnLoses() {
+        assertEquals(-400, see("4k3/8/3p4/4p3/8/8/8/4RK2 w - - 0 1", "e1e5"));
+    }
+
+    public void testXrayRecaptureIsCounted() {
+        // Nxe5 dxe5 Rxe5 Rxe5 Rxe5: xe e1 chỉ tham gia được sau khi xe e2 rời cột
+        assertEquals(100 - 320 + 100, see("4r1k1/8/3p4/4p3/8/3N4/4R3/4R1K1 w - - 0 1", "d3e5"));
+    }
+
+    public void testQuiescenceDoesNotGrabPoisonedPawn() {
+        Position position = Position.fromFen("4k3/8/3p4/4p3/8/8/8/Q3K3 w - - 0 1");
+        SearchResult result = new Searcher().search(position, SearchLimits.ofDepth(1));
+        assertFalse("a1e5".equals(Moves.toUci(result.bestMove())));
+    }
+
+    private static int see(String fen, String uci) {
+        Position position = Position.fromFen(fen);
+        MoveList moves = new MoveList();
+        MoveGenerator.generateLegal(position, moves);
+        int move = moves.find(Square.parse(uci.substring(0, 2)), Square.parse(uci.substring(2, 4)));
+        assertTrue(uci, move != Moves.NONE);
+        return StaticExchange.evaluate(position, move, new int[StaticExchange.MAX_EXCHANGES]);
+    }
+}
@@ -0,0 +1,45 @@
+package com.minhduc5a12.chess.engine.search;
+
+import com.minhduc5a12.chess.core.Position;
+import junit.framework.TestCase;
+
+public class TranspositionTableTest extends TestCase {
+
+    public void testStoreAndProbeRoundTrip() {
+        TranspositionTable table = new TranspositionTable(1);
+        long key = 0x123456789ABCDEFL;
+        table.store(key, 0x1234, -31000 + 5, 12, TranspositionTable.LOWER);
+
+        long entry = table.probe(key);
+        assertTrue(entry != 0);
+        assertEquals(0x1234, TranspositionTable.move(entry));
+        assertEquals(-31000 + 5, TranspositionTable.score(entry));
+        assertEquals(12, TranspositionTable.depth(entry));
+        assertEquals(TranspositionTable.LOWER, TranspositionTable.bound(entry));
+        assertEquals(0L, table.probe(key ^ 1L << 40));
+        assertEquals(0.5, table.getHitRate(), 1e-9);
+    }
+
+    public void testOldShallowEntriesAreReplacedFirst() {
+        TranspositionTable table = new TranspositionTable(1);
+        long bucketStride = 1L << 32;
+        for (int i = 0; i < 4; i++) {
+            table.store(7 + i * bucketStride, i + 1, 0, i == 0 ? 20 : 1, TranspositionTable.EXACT);
+        }
+        table.newSearch();
+        table.store(7 + 4 * bucketStride, 99, 0, 5, TranspositionTable.EXACT);
+
+        assertTrue(table.probe(7) != 0);
+        assertTrue(table.probe(7 + 4 * bucketStride) != 0);
+        table.clear();
+        assertEquals(0L, table.probe(7));
+    }
+
+    public void testSharedTableKeepsSearchResults() {
+        TranspositionTable table = new TranspositionTable(1);
+        Searcher searcher = new Searcher(table);
+        searcher.search(Position.startPosition(), SearchLimits.ofDepth(4));
+        assertTrue(table.getHits() > 0);
+        assertTrue(table.hashfull() > 0);
+    }
+}